@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.dev;
+
+import uk.gov.hmcts.reform.dev.sql.SqlStatementStatistics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the shape of every statement executed by the opening thread while open, so that tests
+ * can assert exactly which statements an operation issues.
+ */
+final class SqlStatementCapture implements SqlStatementStatistics.Listener, AutoCloseable {
+
+    private final SqlStatementStatistics statistics;
+    private final Thread owner = Thread.currentThread();
+    private final List<String> shapes = new CopyOnWriteArrayList<>();
+
+    private SqlStatementCapture(SqlStatementStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    static SqlStatementCapture start(SqlStatementStatistics statistics) {
+        SqlStatementCapture capture = new SqlStatementCapture(statistics);
+        statistics.addListener(capture);
+        return capture;
+    }
+
+    @Override
+    public void statementExecuted(String sql, String shape) {
+        if (Thread.currentThread() == owner) {
+            shapes.add(shape);
+        }
+    }
+
+    List<String> shapes() {
+        return List.copyOf(shapes);
+    }
+
+    @Override
+    public void close() {
+        statistics.removeListener(this);
+    }
+}
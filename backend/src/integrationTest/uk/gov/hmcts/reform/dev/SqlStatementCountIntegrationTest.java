@@ -0,0 +1,167 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.service.TaskCollectionVersion;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.sql.SqlStatementStatistics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the exact statements each endpoint issues, so that an extra round trip or an N+1 query
+ * fails here with a diff of expected and actual statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class SqlStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementStatistics sqlStatementStatistics;
+
+    @Autowired
+    private TaskCollectionVersion taskCollectionVersion;
+
+    @Autowired
+    private ObjectMapper sharedObjectMapper;
+
+    private ObjectMapper objectMapper;
+    private Task savedTask;
+
+    private Task createTask() {
+        return new Task(
+                "Task Title",
+                "Task description",
+                TaskStatus.Pending,
+                LocalDateTime.now().plusDays(2)
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from task");
+        // A copy, so the module does not leak into the application's mapper
+        objectMapper = sharedObjectMapper.copy().registerModule(new JavaTimeModule());
+        savedTask = taskService.createTask(createTask());
+        taskService.createTask(createTask());
+        // Absorb the sequence movement now, so the scheduled sync cannot invalidate the cache mid-test
+        taskCollectionVersion.syncWithDatabase();
+    }
+
+    // Each expectation is a pattern found in the statement's QueryShapes shape, tolerant of Hibernate's aliases
+    private void assertStatements(RequestBuilder request, String... expected) throws Exception {
+        List<String> shapes;
+        try (SqlStatementCapture capture = SqlStatementCapture.start(sqlStatementStatistics)) {
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            shapes = capture.shapes();
+        }
+
+        String executed = String.join("\n  ", shapes);
+        assertThat(shapes).as("Statements executed:%n  %s", executed).hasSize(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(shapes.get(i))
+                    .as("Statement %d of:%n  %s", i + 1, executed)
+                    .containsPattern(Pattern.compile(expected[i], Pattern.CASE_INSENSITIVE));
+        }
+    }
+
+    @Test
+    void createTaskShouldInsertReturningChangeSequence() throws Exception {
+        assertStatements(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTask())),
+                "^insert into task \\(.+\\) returning .*change_seq",
+                "^insert into task_due_rollup \\(due_day, status, task_count\\) values \\(\\?, \\?, \\?\\) on conflict");
+    }
+
+    @Test
+    void getTaskByIDShouldSelectOnce() throws Exception {
+        assertStatements(get("/tasks/" + savedTask.getID()),
+                "^select .+ from task \\w+ where \\w+\\.id=\\?");
+    }
+
+    @Test
+    void getAllTasksShouldSelectOnceThenServeFromCache() throws Exception {
+        assertStatements(get("/tasks"),
+                "^select .+ from task \\w+");
+        assertStatements(get("/tasks"));
+    }
+
+    @Test
+    void getFilteredTasksShouldSelectOnceWithoutCountQuery() throws Exception {
+        assertStatements(get("/tasks").param("status", "Pending").param("sort", "dueDate").param("size", "10"),
+                "^select .+ from task \\w+ where \\w+\\.status=\\?.* order by \\w+\\.due_date");
+    }
+
+    @Test
+    void countTasksShouldSelectOnce() throws Exception {
+        assertStatements(get("/tasks/count").param("status", "Pending"),
+                "^select count\\(.+\\) from task \\w+ where \\w+\\.status=\\?");
+    }
+
+    @Test
+    void getTasksByIDsShouldUseSingleInQuery() throws Exception {
+        assertStatements(get("/tasks").param("ids", savedTask.getID() + ",-1," + savedTask.getID()),
+                "^select .+ from task \\w+ where \\w+\\.id in \\(\\?\\.\\.\\.\\)");
+    }
+
+    @Test
+    void lookupTasksShouldUseSingleInQuery() throws Exception {
+        assertStatements(post("/tasks/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + savedTask.getID() + ", -1]"),
+                "^select .+ from task \\w+ where \\w+\\.id in \\(\\?\\.\\.\\.\\)");
+    }
+
+    @Test
+    void getTaskChangesShouldReadSnapshotThenChanges() throws Exception {
+        assertStatements(get("/tasks/changes").param("since", "0"),
+                "^select pg_snapshot_xmin\\(pg_current_snapshot\\(\\)\\)::text::bigint$",
+                "^select \\* from task where change_xid >= \\? and change_xid < \\? order by change_xid, id limit \\?$");
+    }
+
+    @Test
+    void updateTaskShouldLockAndUpdateInOneStatement() throws Exception {
+        Task update = createTask();
+        update.setStatus(TaskStatus.Completed);
+
+        assertStatements(put("/tasks/" + savedTask.getID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)),
+                "^with previous as \\( select id, status, due_date from task where id = \\? and deleted_at is null for update \\) update task t set status = \\?",
+                "^insert into task_due_rollup \\(due_day, status, task_count\\) values \\(\\?, \\?, \\?\\) on conflict");
+    }
+
+    @Test
+    void deleteTaskShouldTombstoneInOneStatementWithoutLoading() throws Exception {
+        assertStatements(delete("/tasks/" + savedTask.getID()),
+                "^update task set deleted_at = \\? where id = \\? and deleted_at is null returning change_seq$",
+                "^insert into task_due_rollup \\(due_day, status, task_count\\) select cast\\(due_date as date\\), status, \\? from task where id = \\?");
+    }
+}
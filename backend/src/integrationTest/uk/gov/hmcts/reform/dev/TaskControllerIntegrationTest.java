@@ -8,14 +8,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.models.TaskStatus;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.service.TaskCollectionVersion;
+import uk.gov.hmcts.reform.dev.service.TaskService;
 
 import java.time.LocalDateTime;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,9 +33,18 @@ class TaskControllerIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCollectionVersion taskCollectionVersion;
+
     private Task createTask() {
         return new Task(
                 "Task Title",
@@ -43,7 +56,8 @@ class TaskControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        taskRepository.deleteAll();
+        // A hard delete, so that tombstones left by earlier tests do not appear in /tasks/changes
+        jdbcTemplate.update("delete from task");
         objectMapper.registerModule(new JavaTimeModule());
     }
 
@@ -69,7 +83,7 @@ class TaskControllerIntegrationTest {
 
     @Test
     void shouldGetAllTasks() throws Exception {
-        Task task = taskRepository.save(createTask());
+        taskService.createTask(createTask());
 
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
@@ -77,6 +91,21 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("[0].title").value("Task Title"));
     }
 
+    @Test
+    void shouldStopServingCachedTasksOnceRepositoryDeleteIsSynced() throws Exception {
+        Task task = taskService.createTask(createTask());
+        mockMvc.perform(get("/tasks"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        // Bypasses TaskService, so only the scheduled sync with the change sequence notices it
+        taskRepository.deleteById(task.getID());
+        taskCollectionVersion.syncWithDatabase();
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
     @Test
     void shouldUpdateTask() throws Exception {
         Task savedTask = taskRepository.save(createTask());
@@ -102,4 +131,27 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldReturnTaskChangesSinceWatermark() throws Exception {
+        String created = mockMvc.perform(post("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createTask())))
+                .andReturn().getResponse().getContentAsString();
+        long ID = objectMapper.readTree(created).get("id").asLong();
+
+        String changes = mockMvc.perform(get("/tasks/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[*].id", hasItem((int) ID)))
+                .andReturn().getResponse().getContentAsString();
+        long watermark = objectMapper.readTree(changes).get("watermark").asLong();
+
+        mockMvc.perform(delete("/tasks/" + ID))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/tasks/changes").param("since", String.valueOf(watermark)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(0))
+                .andExpect(jsonPath("$.deleted[0]").value(ID));
+    }
+
 }
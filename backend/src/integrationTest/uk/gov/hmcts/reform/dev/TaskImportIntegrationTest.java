@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.bulkimport.TaskImportService;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskImportJob;
+import uk.gov.hmcts.reform.dev.models.TaskImportReject;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.tasks.import.chunk-size=2")
+class TaskImportIntegrationTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from task");
+    }
+
+    private TaskImportJob importAndWait(TaskImportJob.Format format, String content) throws Exception {
+        TaskImportJob job = taskImportService.importUpload(format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        for (int attempt = 0; attempt < 100 && job.getStatus() == TaskImportJob.Status.RUNNING; attempt++) {
+            Thread.sleep(100);
+            job = taskImportService.getJob(job.getID()).orElseThrow();
+        }
+        return job;
+    }
+
+    @Test
+    void shouldImportValidRecordsAcrossChunksAndReportRejects() throws Exception {
+        TaskImportJob job = importAndWait(TaskImportJob.Format.CSV,
+                "title,description,status,dueDate\n"
+                + "First,\"Quoted, with comma\",Pending,2030-04-23T15:30:00\n"
+                + ",Blank title,Pending,2030-04-23T15:30:00\n"
+                + "Second,,Completed,2030-04-24T15:30:00\n"
+                + "Third,,Done,2030-04-25T15:30:00\n"
+                + "Fourth,,InProgress,2030-04-26T15:30:00\n");
+
+        assertThat(job.getStatus()).isEqualTo(TaskImportJob.Status.COMPLETED);
+        assertThat(job.getRecordsProcessed()).isEqualTo(5);
+        assertThat(job.getTasksImported()).isEqualTo(3);
+        assertThat(job.getRecordsRejected()).isEqualTo(2);
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(tasks).extracting(Task::getTitle).containsExactlyInAnyOrder("First", "Second", "Fourth");
+        assertThat(tasks).extracting(Task::getChangeSeq).doesNotContainNull();
+        assertThat(tasks).filteredOn(task -> task.getTitle().equals("First"))
+                .extracting(Task::getDescription).containsExactly("Quoted, with comma");
+
+        List<TaskImportReject> rejects = taskImportService.getRejects(job.getID(), 0, 10);
+        assertThat(rejects).extracting(TaskImportReject::getRecordNumber).containsExactly(2L, 4L);
+        assertThat(rejects).extracting(TaskImportReject::getReason)
+                .containsExactly("Title must not be blank", "Unknown status: Done");
+    }
+
+    @Test
+    void shouldImportNdjson() throws Exception {
+        TaskImportJob job = importAndWait(TaskImportJob.Format.NDJSON,
+                "{\"title\": \"From JSON\", \"status\": \"Pending\", \"dueDate\": \"2030-04-23T15:30:00\"}\n");
+
+        assertThat(job.getStatus()).isEqualTo(TaskImportJob.Status.COMPLETED);
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("From JSON");
+    }
+
+    @Test
+    void shouldFailOnUnreadableFileAndRefuseToResumeCompletedJobs() throws Exception {
+        TaskImportJob failed = importAndWait(TaskImportJob.Format.CSV, "title,status\n");
+        assertThat(failed.getStatus()).isEqualTo(TaskImportJob.Status.FAILED);
+        assertThat(failed.getError()).contains("duedate");
+
+        TaskImportJob completed = importAndWait(TaskImportJob.Format.CSV,
+                "title,status,dueDate\nOnly,Pending,2030-04-23T15:30:00\n");
+        assertThatThrownBy(() -> taskImportService.resume(completed.getID()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
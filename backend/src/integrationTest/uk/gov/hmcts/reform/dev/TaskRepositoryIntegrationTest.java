@@ -4,9 +4,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollup;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollupKey;
 import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repository.TaskDueRollupRepository;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.service.TaskChangeSequence;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,11 +22,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskChangeSequence.class)
 class TaskRepositoryIntegrationTest {
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskDueRollupRepository taskDueRollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Task createTask() {
         return new Task(
                 "Test Task",
@@ -41,6 +54,7 @@ class TaskRepositoryIntegrationTest {
         assertThat(createdTask.getDescription()).isEqualTo("Test task description");
         assertThat(createdTask.getStatus()).isEqualTo(TaskStatus.Pending);
         assertThat(createdTask.getDueDate()).isEqualTo(task.getDueDate());
+        assertThat(createdTask.getChangeSeq()).isNotNull();
     }
 
     @Test
@@ -75,12 +89,65 @@ class TaskRepositoryIntegrationTest {
     }
 
     @Test
-    void shouldDeleteTask() {
+    void shouldTombstoneTaskDeletedThroughRepository() {
         Task task = taskRepository.save(createTask());
 
         taskRepository.deleteById(task.getID());
+        taskRepository.flush();
         Optional<Task> deleted = taskRepository.findById(task.getID());
 
         assertThat(deleted).isNotPresent();
+        assertThat(taskRepository.findChangedBetween(0, Long.MAX_VALUE, 1000))
+                .filteredOn(changed -> changed.getID().equals(task.getID()))
+                .singleElement()
+                .satisfies(tombstone -> {
+                    assertThat(tombstone.getDeletedAt()).isNotNull();
+                    assertThat(tombstone.getChangeSeq()).isNotNull();
+                    assertThat(tombstone.getChangeXid()).isNotNull();
+                });
+    }
+
+    @Test
+    void shouldTakeTaskDeletedThroughRepositoryOutOfRollup() {
+        Task task = taskRepository.save(createTask());
+        TaskDueRollupKey bucket = new TaskDueRollupKey(task.getDueDate().toLocalDate(), task.getStatus());
+        taskDueRollupRepository.saveAndFlush(new TaskDueRollup(bucket, 1));
+
+        taskRepository.deleteById(task.getID());
+        taskRepository.flush();
+        // The rollup row was changed by the delete statement, not through the persistence context
+        entityManager.clear();
+
+        assertThat(taskDueRollupRepository.findById(bucket)).hasValueSatisfying(
+                rollup -> assertThat(rollup.getTaskCount()).isZero());
+    }
+
+    @Test
+    void shouldHideSoftDeletedTask() {
+        Task task = taskRepository.save(createTask());
+        Task otherTask = taskRepository.save(createTask());
+
+        Optional<Long> changeSeq = taskRepository.softDelete(task.getID(), LocalDateTime.now());
+
+        assertThat(changeSeq).hasValueSatisfying(seq -> assertThat(seq).isGreaterThan(task.getChangeSeq()));
+        assertThat(taskRepository.findById(task.getID())).isNotPresent();
+        assertThat(taskRepository.findAll()).extracting(Task::getID).containsExactly(otherTask.getID());
+        assertThat(taskRepository.softDelete(task.getID(), LocalDateTime.now())).isEmpty();
+    }
+
+    @Test
+    void shouldPurgeTombstonesOlderThanCutoffInBatches() {
+        Task first = taskRepository.save(createTask());
+        Task second = taskRepository.save(createTask());
+        Task recent = taskRepository.save(createTask());
+        taskRepository.softDelete(first.getID(), LocalDateTime.now().minusDays(2));
+        taskRepository.softDelete(second.getID(), LocalDateTime.now().minusDays(2));
+        taskRepository.softDelete(recent.getID(), LocalDateTime.now());
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+
+        assertThat(taskRepository.purgeDeletedBefore(cutoff, 1)).isEqualTo(1);
+        assertThat(taskRepository.purgeDeletedBefore(cutoff, 1)).isEqualTo(1);
+        assertThat(taskRepository.purgeDeletedBefore(cutoff, 1)).isZero();
     }
 }
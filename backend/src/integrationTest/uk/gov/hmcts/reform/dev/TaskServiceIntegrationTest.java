@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.models.TaskStatus;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
@@ -24,6 +25,9 @@ class TaskServiceIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Task createTask() {
         return new Task(
                 "Task Title",
@@ -35,7 +39,7 @@ class TaskServiceIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        taskRepository.deleteAll();
+        jdbcTemplate.update("delete from task");
     }
 
     @Test
@@ -91,6 +95,18 @@ class TaskServiceIntegrationTest {
         assertEquals(TaskStatus.Completed, result.getStatus());
     }
 
+    @Test
+    void shouldNotReviveDeletedTaskOnUpdate() {
+        Task savedTask = taskRepository.save(createTask());
+        taskService.deleteTask(savedTask.getID());
+
+        Task updatedTask = createTask();
+        updatedTask.setStatus(TaskStatus.Completed);
+
+        assertFalse(taskService.updateTask(savedTask.getID(), updatedTask).isPresent());
+        assertFalse(taskService.getTaskByID(savedTask.getID()).isPresent());
+    }
+
     @Test
     void shouldDeleteTaskByID() {
         Task savedTask = taskRepository.save(createTask());
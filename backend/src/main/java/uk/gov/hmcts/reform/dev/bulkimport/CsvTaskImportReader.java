@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.dev.bulkimport;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming the {@code title}, {@code description}, {@code status}
+ * and {@code dueDate} columns, in any order. {@code description} is optional and other columns
+ * are ignored. Quoted fields may contain commas, quotes and line breaks.
+ */
+class CsvTaskImportReader extends TaskImportReader {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final int columns;
+    private final int titleColumn;
+    private final int descriptionColumn;
+    private final int statusColumn;
+    private final int dueDateColumn;
+
+    CsvTaskImportReader(Reader reader) throws IOException {
+        super(reader);
+        String header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV file is empty");
+        }
+        if (overflowed()) {
+            throw new IOException("CSV header exceeds " + MAX_RECORD_CHARS + " characters");
+        }
+        List<String> names;
+        try {
+            names = split(header).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid CSV header: " + e.getMessage());
+        }
+        columns = names.size();
+        titleColumn = requiredColumn(names, "title");
+        descriptionColumn = names.indexOf("description");
+        statusColumn = requiredColumn(names, "status");
+        dueDateColumn = requiredColumn(names, "duedate");
+    }
+
+    private static int requiredColumn(List<String> names, String name) throws IOException {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IOException("CSV header must include a " + name + " column");
+        }
+        return index;
+    }
+
+    @Override
+    String readRecord() throws IOException {
+        buffer.setLength(0);
+        boolean quoted = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n' && !quoted) {
+                if (buffer.isEmpty() || (buffer.length() == 1 && buffer.charAt(0) == '\r')) {
+                    buffer.setLength(0);
+                    continue;
+                }
+                break;
+            }
+            append(buffer, c);
+        }
+        if (buffer.isEmpty()) {
+            return null;
+        }
+        if (buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    TaskImportRecord parse(long number, String content) {
+        List<String> fields;
+        try {
+            fields = split(content);
+        } catch (IllegalArgumentException e) {
+            return TaskImportRecord.rejected(number, truncate(content), e.getMessage());
+        }
+        if (fields.size() != columns) {
+            return TaskImportRecord.rejected(number, truncate(content),
+                    "Expected " + columns + " fields but found " + fields.size());
+        }
+
+        TaskStatus status;
+        try {
+            status = TaskStatus.valueOf(fields.get(statusColumn).trim());
+        } catch (IllegalArgumentException e) {
+            return TaskImportRecord.rejected(number, truncate(content), "Unknown status: " + fields.get(statusColumn));
+        }
+        LocalDateTime dueDate;
+        try {
+            dueDate = LocalDateTime.parse(fields.get(dueDateColumn).trim());
+        } catch (DateTimeParseException e) {
+            return TaskImportRecord.rejected(number, truncate(content), "Invalid dueDate: " + fields.get(dueDateColumn));
+        }
+        String description = descriptionColumn < 0 || fields.get(descriptionColumn).isEmpty()
+                ? null : fields.get(descriptionColumn);
+        return TaskImportRecord.parsed(number, truncate(content),
+                new Task(fields.get(titleColumn), description, status, dueDate));
+    }
+
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < record.length() && record.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= record.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = record.charAt(i++);
+                    if (c == '"') {
+                        if (i < record.length() && record.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < record.length() && record.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field " + (fields.size() + 1));
+                }
+            } else {
+                while (i < record.length() && record.charAt(i) != ',') {
+                    field.append(record.charAt(i++));
+                }
+            }
+            fields.add(field.toString());
+            if (i >= record.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.dev.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One JSON task per line, in the same shape as the body of {@code POST /tasks}. Blank lines
+ * are skipped.
+ */
+class NdjsonTaskImportReader extends TaskImportReader {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final ObjectMapper objectMapper;
+
+    NdjsonTaskImportReader(Reader reader, ObjectMapper objectMapper) {
+        super(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    String readRecord() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\n') {
+                if (isBlank(buffer)) {
+                    buffer.setLength(0);
+                    continue;
+                }
+                break;
+            }
+            append(buffer, c);
+        }
+        return isBlank(buffer) ? null : buffer.toString().strip();
+    }
+
+    private static boolean isBlank(CharSequence chars) {
+        return chars.chars().allMatch(Character::isWhitespace);
+    }
+
+    @Override
+    TaskImportRecord parse(long number, String content) {
+        try {
+            Task task = objectMapper.readValue(content, Task.class);
+            // IDs are always assigned by the database
+            task.setID(null);
+            return TaskImportRecord.parsed(number, truncate(content), task);
+        } catch (JsonProcessingException e) {
+            return TaskImportRecord.rejected(number, truncate(content), e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.hmcts.reform.dev.bulkimport;
+
+import org.postgresql.PGConnection;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserts a chunk of validated tasks on the connection of the surrounding transaction, streaming
+ * it through {@code COPY ... FROM STDIN}. That skips per-row statement parsing, planning and round
+ * trips and is an order of magnitude faster than batched inserts. The database stamps each row's
+ * change sequence.
+ */
+class PostgresCopyTaskLoader {
+
+    private static final String COPY_SQL = "copy task (title, description, status, due_date) from stdin with (format csv)";
+
+    void load(Connection connection, List<Task> tasks) throws SQLException, IOException {
+        StringBuilder csv = new StringBuilder(tasks.size() * 128);
+        for (Task task : tasks) {
+            appendQuoted(csv, task.getTitle()).append(',');
+            // An unquoted empty field is NULL in COPY's CSV format
+            if (task.getDescription() != null) {
+                appendQuoted(csv, task.getDescription());
+            }
+            csv.append(',').append(task.getStatus().name())
+                    .append(',').append(task.getDueDate())
+                    .append('\n');
+        }
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
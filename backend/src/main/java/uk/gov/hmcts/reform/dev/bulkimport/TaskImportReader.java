@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.dev.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.gov.hmcts.reform.dev.models.TaskImportJob;
+import uk.gov.hmcts.reform.dev.models.TaskImportReject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads tasks one record at a time, so an import holds at most one record in memory however
+ * large the file is. Records that cannot be parsed are returned with an error rather than
+ * thrown; an {@link IOException} means the file itself is unreadable and the import must stop.
+ */
+public abstract class TaskImportReader implements Closeable {
+
+    // Longest record accepted; the rest of a longer one is read and dropped, so it is rejected without being buffered
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final Reader reader;
+    private long recordNumber;
+    private boolean overflowed;
+
+    TaskImportReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static TaskImportReader open(TaskImportJob.Format format, Reader reader, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvTaskImportReader(reader);
+            case NDJSON -> new NdjsonTaskImportReader(reader, objectMapper);
+        };
+    }
+
+    /**
+     * The next record, or {@code null} once the input is exhausted.
+     */
+    public TaskImportRecord next() throws IOException {
+        String content = readRecord();
+        if (content == null) {
+            return null;
+        }
+        recordNumber++;
+        if (overflowed) {
+            return TaskImportRecord.rejected(recordNumber, truncate(content),
+                    "Record exceeds " + MAX_RECORD_CHARS + " characters");
+        }
+        return parse(recordNumber, content);
+    }
+
+    /**
+     * Reads and discards {@code count} records, for resuming an import part way through a file.
+     */
+    public void skip(long count) throws IOException {
+        for (long i = 0; i < count; i++) {
+            if (readRecord() == null) {
+                throw new IOException("File has fewer than " + count + " records; has it changed since the import started?");
+            }
+            recordNumber++;
+        }
+    }
+
+    /**
+     * Reads the next record into {@code buffer} with {@link #append}, returning {@code null} once
+     * the input is exhausted.
+     */
+    abstract String readRecord() throws IOException;
+
+    abstract TaskImportRecord parse(long number, String content);
+
+    int read() throws IOException {
+        return reader.read();
+    }
+
+    // Adds a character to the record being read, dropping any past the limit. An empty buffer starts a new record
+    void append(StringBuilder buffer, int c) {
+        if (buffer.isEmpty()) {
+            overflowed = false;
+        }
+        if (buffer.length() == MAX_RECORD_CHARS) {
+            overflowed = true;
+        } else {
+            buffer.append((char) c);
+        }
+    }
+
+    boolean overflowed() {
+        return overflowed;
+    }
+
+    static String truncate(String content) {
+        return content.length() <= TaskImportReject.MAX_CONTENT_LENGTH
+                ? content : content.substring(0, TaskImportReject.MAX_CONTENT_LENGTH);
+    }
+
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
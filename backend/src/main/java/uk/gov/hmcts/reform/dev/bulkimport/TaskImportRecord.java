@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.bulkimport;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+/**
+ * One record read from an import file. Exactly one of {@code task} and {@code error} is set.
+ * {@code content} is the record as it appeared in the file, truncated for reject reporting.
+ */
+public record TaskImportRecord(long number, String content, Task task, String error) {
+
+    static TaskImportRecord parsed(long number, String content, Task task) {
+        return new TaskImportRecord(number, content, task, null);
+    }
+
+    static TaskImportRecord rejected(long number, String content, String error) {
+        return new TaskImportRecord(number, content, null, error);
+    }
+}
@@ -0,0 +1,289 @@
+package uk.gov.hmcts.reform.dev.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskImportJob;
+import uk.gov.hmcts.reform.dev.models.TaskImportReject;
+import uk.gov.hmcts.reform.dev.readmodel.TaskReadModel;
+import uk.gov.hmcts.reform.dev.repository.TaskImportJobRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskImportRejectRepository;
+import uk.gov.hmcts.reform.dev.service.TaskCollectionVersion;
+import uk.gov.hmcts.reform.dev.service.TaskTimelineService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Loads large task files in the background, one chunk per transaction.
+ *
+ * <p>Each chunk's tasks, its rejected records and the job's progress commit together, so after
+ * a failure or a crash the job resumes from the first record that was not committed, without
+ * duplicating or losing tasks. Only one chunk of records is held in memory at a time.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    public static final int MAX_REJECTS_LIMIT = 1000;
+
+    private static final String UPLOAD_PREFIX = "upload-";
+
+    private static final Set<TaskImportJob.Status> CLAIMABLE = EnumSet.of(TaskImportJob.Status.PENDING, TaskImportJob.Status.FAILED);
+
+    private static final String INSERT_REJECT_SQL =
+            "insert into task_import_reject (job_id, record_number, reason, content) values (?, ?, ?, ?)";
+
+    private final TaskImportJobRepository taskImportJobRepository;
+    private final TaskImportRejectRepository taskImportRejectRepository;
+    private final TaskCollectionVersion taskCollectionVersion;
+    private final TaskTimelineService taskTimelineService;
+    private final TaskReadModel taskReadModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int chunkSize;
+    private final long staleAfterMinutes;
+    private final ExecutorService executor;
+
+    private final PostgresCopyTaskLoader loader = new PostgresCopyTaskLoader();
+
+    public TaskImportService(TaskImportJobRepository taskImportJobRepository,
+                             TaskImportRejectRepository taskImportRejectRepository,
+                             TaskCollectionVersion taskCollectionVersion,
+                             TaskTimelineService taskTimelineService,
+                             TaskReadModel taskReadModel,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${app.tasks.import.directory:${java.io.tmpdir}/task-imports}") String directory,
+                             @Value("${app.tasks.import.chunk-size:5000}") int chunkSize,
+                             @Value("${app.tasks.import.threads:1}") int threads,
+                             @Value("${app.tasks.import.stale-after-minutes:10}") long staleAfterMinutes) {
+        this.taskImportJobRepository = taskImportJobRepository;
+        this.taskImportRejectRepository = taskImportRejectRepository;
+        this.taskCollectionVersion = taskCollectionVersion;
+        this.taskTimelineService = taskTimelineService;
+        this.taskReadModel = taskReadModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("task-import-", 1).factory());
+    }
+
+    /**
+     * Saves an uploaded file to the import directory, so that the job can be resumed from it,
+     * and starts importing it.
+     */
+    public TaskImportJob importUpload(TaskImportJob.Format format, InputStream body) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(UPLOAD_PREFIX + UUID.randomUUID() + "." + format.name().toLowerCase(Locale.ROOT));
+        Files.copy(body, file);
+        return start(new TaskImportJob(file.toString(), format));
+    }
+
+    /**
+     * Starts importing a file already in the import directory. {@code path} is relative to it.
+     */
+    public TaskImportJob importFile(TaskImportJob.Format format, String path) {
+        Path file = directory.resolve(path).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No such file in the import directory: " + path);
+        }
+        return start(new TaskImportJob(file.toString(), format));
+    }
+
+    /**
+     * Restarts a failed or abandoned job from the last committed chunk.
+     *
+     * @throws IllegalStateException if the job is running or has completed
+     */
+    public Optional<TaskImportJob> resume(Long ID) {
+        if (!taskImportJobRepository.existsById(ID)) {
+            return Optional.empty();
+        }
+        if (!claim(ID)) {
+            throw new IllegalStateException("Only failed or abandoned imports can be resumed");
+        }
+        executor.execute(() -> run(ID));
+        return taskImportJobRepository.findById(ID);
+    }
+
+    public Optional<TaskImportJob> getJob(Long ID) {
+        return taskImportJobRepository.findById(ID);
+    }
+
+    public List<TaskImportJob> getRecentJobs() {
+        return taskImportJobRepository.findTop50ByOrderByCreatedAtDesc();
+    }
+
+    public List<TaskImportReject> getRejects(Long ID, long afterRecord, int limit) {
+        if (limit < 1 || limit > MAX_REJECTS_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_REJECTS_LIMIT);
+        }
+        return taskImportRejectRepository.findByJobIDAndRecordNumberGreaterThanOrderByRecordNumber(
+                ID, afterRecord, PageRequest.of(0, limit));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private TaskImportJob start(TaskImportJob job) {
+        Long ID = taskImportJobRepository.save(job).getID();
+        claim(ID);
+        executor.execute(() -> run(ID));
+        return taskImportJobRepository.findById(ID).orElseThrow();
+    }
+
+    private boolean claim(Long ID) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> taskImportJobRepository.claim(
+                ID, TaskImportJob.Status.RUNNING, CLAIMABLE, now, now.minusMinutes(staleAfterMinutes)));
+        return claimed != null && claimed > 0;
+    }
+
+    private void run(Long ID) {
+        TaskImportJob job = taskImportJobRepository.findById(ID).orElseThrow();
+        long start = System.nanoTime();
+        long imported = 0;
+        try (TaskImportReader reader = TaskImportReader.open(job.getFormat(),
+                Files.newBufferedReader(Path.of(job.getSource()), StandardCharsets.UTF_8), objectMapper)) {
+            reader.skip(job.getRecordsProcessed());
+            long processed = job.getRecordsProcessed();
+            List<Task> tasks = new ArrayList<>(chunkSize);
+            List<Object[]> rejects = new ArrayList<>();
+            boolean more = true;
+            while (more) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                tasks.clear();
+                rejects.clear();
+                int read = 0;
+                TaskImportRecord record = null;
+                while (read < chunkSize && (record = reader.next()) != null) {
+                    read++;
+                    String error = record.error() != null ? record.error() : validate(record.task());
+                    if (error == null) {
+                        tasks.add(record.task());
+                    } else {
+                        rejects.add(new Object[]{ID, record.number(), truncate(error), record.content()});
+                    }
+                }
+                more = record != null;
+                if (read == 0) {
+                    break;
+                }
+
+                processed += read;
+                writeChunk(ID, processed, tasks, rejects);
+                imported += tasks.size();
+                taskCollectionVersion.bump();
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Task import {} failed after importing {} tasks", ID, imported, e);
+            String error = e instanceof InterruptedException ? "Interrupted by shutdown" : String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    taskImportJobRepository.finish(ID, TaskImportJob.Status.FAILED, truncate(error), LocalDateTime.now()));
+            refreshDerivedViews(imported);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                taskImportJobRepository.finish(ID, TaskImportJob.Status.COMPLETED, null, LocalDateTime.now()));
+        log.info("Task import {} imported {} tasks in {} ms", ID, imported, (System.nanoTime() - start) / 1_000_000);
+        refreshDerivedViews(imported);
+        deleteUpload(Path.of(job.getSource()));
+    }
+
+    private void writeChunk(Long ID, long processed, List<Task> tasks, List<Object[]> rejects) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tasks.isEmpty()) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    try {
+                        loader.load(connection, tasks);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+                taskTimelineService.onTasksImported(tasks);
+            }
+            if (!rejects.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_REJECT_SQL, rejects);
+            }
+            taskImportJobRepository.recordProgress(ID, processed, tasks.size(), rejects.size(), LocalDateTime.now());
+        });
+    }
+
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        return violations.isEmpty() ? null : violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Imported rows bypass TaskChangedEvent, so the read model it normally maintains is rebuilt once per job
+    private void refreshDerivedViews(long imported) {
+        if (imported == 0) {
+            return;
+        }
+        taskReadModel.rebuild();
+        taskCollectionVersion.bump();
+    }
+
+    private void deleteUpload(Path file) {
+        if (!file.getFileName().toString().startsWith(UPLOAD_PREFIX)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete imported upload {}", file, e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
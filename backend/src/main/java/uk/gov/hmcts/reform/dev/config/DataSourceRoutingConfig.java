@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.datasource.ClientIdentityFilter;
+import uk.gov.hmcts.reform.dev.datasource.ReadWriteRoutingDataSource;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWritesTracker;
+import uk.gov.hmcts.reform.dev.datasource.ReplicaHealthMonitor;
+import uk.gov.hmcts.reform.dev.service.TaskChangedEvent;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final DataSourceRoutingProperties routingProperties;
+    private final Environment environment;
+
+    public DataSourceRoutingConfig(DataSourceRoutingProperties routingProperties, Environment environment) {
+        this.routingProperties = routingProperties;
+        this.environment = environment;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(routingProperties.getStickinessMillis());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                       ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = pool(dataSourceProperties, dataSourceProperties.getUrl(),
+                dataSourceProperties.getUsername(), dataSourceProperties.getPassword());
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<DataSourceRoutingProperties.Replica> replicaProperties = routingProperties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = replicaProperties.get(i);
+            HikariDataSource replicaDataSource = pool(dataSourceProperties, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.getUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.getPassword());
+            replicaDataSource.setPoolName("replica-" + i);
+            replicaDataSource.setReadOnly(true);
+            // A replica that cannot hand out a connection quickly is treated as down, not waited on
+            replicaDataSource.setConnectionTimeout(routingProperties.getHealthCheckTimeoutSeconds() * 1000L);
+            replicas.add(replicaDataSource);
+        }
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, readYourWritesTracker);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    // Applies spring.datasource.hikari.* to each pool, as Spring Boot would for its own data source
+    private HikariDataSource pool(DataSourceProperties dataSourceProperties, String url, String username,
+                                  String password) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Only a committed task write makes the client sticky, not every read-write transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        readYourWritesTracker().recordWrite();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClientIdentityFilter> clientIdentityFilter(ReadYourWritesTracker readYourWritesTracker) {
+        return new FilterRegistrationBean<>(new ClientIdentityFilter(readYourWritesTracker));
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReadWriteRoutingDataSource routingDataSource,
+                                                     ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaHealthMonitor(routingDataSource, readYourWritesTracker,
+                routingProperties.getHealthCheckTimeoutSeconds());
+    }
+}
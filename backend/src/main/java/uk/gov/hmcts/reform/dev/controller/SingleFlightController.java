@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uk.gov.hmcts.reform.dev.service.SingleFlight;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "internal/single-flight")
+public class SingleFlightController {
+
+    private final SingleFlight singleFlight;
+
+    public SingleFlightController(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SingleFlight.Stats>> getStatistics() {
+        return ResponseEntity.ok(singleFlight.stats());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> resetStatistics() {
+        singleFlight.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.dev.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.dev.sql.QueryShapeSummary;
+import uk.gov.hmcts.reform.dev.sql.SqlStatementStatistics;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "internal/sql-stats")
+public class SqlStatisticsController {
+
+    private final SqlStatementStatistics sqlStatementStatistics;
+
+    public SqlStatisticsController(SqlStatementStatistics sqlStatementStatistics) {
+        this.sqlStatementStatistics = sqlStatementStatistics;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<QueryShapeSummary>> getSlowestQueries(@RequestParam(defaultValue = "10") int limit,
+                                                                     @RequestParam(defaultValue = "p95") String orderBy) {
+        Comparator<QueryShapeSummary> order = switch (orderBy) {
+            case "p95" -> Comparator.comparingDouble(QueryShapeSummary::p95Millis);
+            case "p99" -> Comparator.comparingDouble(QueryShapeSummary::p99Millis);
+            case "mean" -> Comparator.comparingDouble(QueryShapeSummary::meanMillis);
+            case "max" -> Comparator.comparingDouble(QueryShapeSummary::maxMillis);
+            case "total" -> Comparator.comparingDouble(QueryShapeSummary::totalMillis);
+            case "count" -> Comparator.comparingLong(QueryShapeSummary::count);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown orderBy: " + orderBy);
+        };
+        return ResponseEntity.ok(sqlStatementStatistics.top(limit, order));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> resetStatistics() {
+        sqlStatementStatistics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
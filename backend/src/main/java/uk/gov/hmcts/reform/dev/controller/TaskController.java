@@ -1,13 +1,27 @@
 package uk.gov.hmcts.reform.dev.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWritesTracker;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChanges;
+import uk.gov.hmcts.reform.dev.models.TaskLookupResult;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.service.SingleFlight;
+import uk.gov.hmcts.reform.dev.service.TaskCollectionVersion;
 import uk.gov.hmcts.reform.dev.service.TaskService;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
@@ -16,9 +30,21 @@ import java.util.Optional;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskResponseCache taskResponseCache;
+    private final TaskCollectionVersion taskCollectionVersion;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight singleFlight;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskResponseCache taskResponseCache,
+                          TaskCollectionVersion taskCollectionVersion, ObjectMapper objectMapper,
+                          SingleFlight singleFlight, ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
         this.taskService = taskService;
+        this.taskResponseCache = taskResponseCache;
+        this.taskCollectionVersion = taskCollectionVersion;
+        this.objectMapper = objectMapper;
+        this.singleFlight = singleFlight;
+        this.readYourWritesTracker = readYourWritesTracker;
     }
 
     @PostMapping
@@ -29,15 +55,68 @@ public class TaskController {
 
     @GetMapping("/{ID}")
     public ResponseEntity<Task> getTaskByID(@PathVariable Long ID) {
-        Optional<Task> task = taskService.getTaskByID(ID);
+        Optional<Task> task = singleFlight.execute("getTaskByID", flightKey(taskCollectionVersion.current(), ID),
+                () -> taskService.getTaskByID(ID));
         return task.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> task = taskService.getAllTasks();
-        return ResponseEntity.ok(task);
+    public ResponseEntity<byte[]> getAllTasks(@RequestParam(required = false) TaskStatus status,
+                                              @RequestParam(required = false) String sort,
+                                              @RequestParam(required = false) String direction,
+                                              @RequestParam(required = false) Integer page,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws JsonProcessingException {
+        boolean unfiltered = status == null && sort == null && direction == null && page == null && size == null;
+        TaskQuery query = unfiltered ? TaskQuery.ALL : toQuery(status, sort, direction, page, size);
+        String key = unfiltered ? "all" : query.toString();
+
+        // Read the version before loading so a concurrent write can only make this entry unreachable
+        long version = taskCollectionVersion.current();
+        TaskResponseCache.CachedResponse response = taskResponseCache.get(version, key);
+        if (response == null) {
+            // Coalesced callers share the serialized response as well as the query
+            response = singleFlight.execute(unfiltered ? "getAllTasks" : "getTasks", flightKey(version, key), () -> {
+                List<Task> tasks = unfiltered ? taskService.getAllTasks() : taskService.getTasks(query);
+                return taskResponseCache.put(version, key, objectMapper.writeValueAsBytes(tasks));
+            });
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (response.gzipped() != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzipped());
+        }
+        return builder.body(response.raw());
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<TaskLookupResult>> getTasksByIDs(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(lookupTasks(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<List<TaskLookupResult>> lookupTasksByIDs(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(lookupTasks(ids));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChanges> getTaskChanges(@RequestParam(defaultValue = "0") long since,
+                                                      @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            return ResponseEntity.ok(taskService.getChangesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<Long> countTasks(@RequestParam(required = false) TaskStatus status) {
+        return ResponseEntity.ok(singleFlight.execute("countTasks", flightKey(taskCollectionVersion.current(), status),
+                () -> taskService.countTasks(status)));
     }
 
     @PutMapping("/{ID}")
@@ -52,4 +131,71 @@ public class TaskController {
         taskService.deleteTask(ID);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Keys include the collection version, so a caller never joins a read that started before a
+     * committed write. They also include where the read is routed: a client pinned to the primary
+     * after its own write must not share a read that went to a lagging replica.
+     */
+    private String flightKey(long version, Object key) {
+        ReadYourWritesTracker tracker = readYourWritesTracker.getIfAvailable();
+        String target = tracker != null && tracker.isSticky() ? "primary" : "any";
+        return target + ":" + version + ":" + key;
+    }
+
+    private List<TaskLookupResult> lookupTasks(List<Long> ids) {
+        try {
+            return taskService.getTasksByIDs(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip, honouring q-values: {@code gzip;q=0}
+     * refuses it, and a wildcard covers gzip when gzip is not listed.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double effective = gzip != null ? gzip : wildcard;
+        return effective != null && effective > 0;
+    }
+
+    private static TaskQuery toQuery(TaskStatus status, String sort, String direction, Integer page, Integer size) {
+        try {
+            return new TaskQuery(
+                    status,
+                    sort == null ? TaskQuery.SortField.ID : TaskQuery.SortField.fromParam(sort),
+                    TaskQuery.descendingFromParam(direction),
+                    page == null ? 0 : page,
+                    size == null ? 0 : size
+            );
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package uk.gov.hmcts.reform.dev.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.dev.bulkimport.TaskImportService;
+import uk.gov.hmcts.reform.dev.models.TaskImportJob;
+import uk.gov.hmcts.reform.dev.models.TaskImportReject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "tasks/imports")
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+
+    public TaskImportController(TaskImportService taskImportService) {
+        this.taskImportService = taskImportService;
+    }
+
+    @PostMapping(params = "path")
+    public ResponseEntity<TaskImportJob> importFile(@RequestParam(defaultValue = "csv") String format,
+                                                    @RequestParam String path) {
+        try {
+            return new ResponseEntity<>(taskImportService.importFile(TaskImportJob.Format.fromParam(format), path), HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // The body is streamed straight to disk, so uploads are not limited by multipart size settings
+    @PostMapping
+    public ResponseEntity<TaskImportJob> importUpload(@RequestParam(defaultValue = "csv") String format,
+                                                      InputStream body) throws IOException {
+        TaskImportJob.Format importFormat;
+        try {
+            importFormat = TaskImportJob.Format.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return new ResponseEntity<>(taskImportService.importUpload(importFormat, body), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaskImportJob>> getRecentImports() {
+        return ResponseEntity.ok(taskImportService.getRecentJobs());
+    }
+
+    @GetMapping("/{ID}")
+    public ResponseEntity<TaskImportJob> getImport(@PathVariable Long ID) {
+        return taskImportService.getJob(ID).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{ID}/rejects")
+    public ResponseEntity<List<TaskImportReject>> getRejects(@PathVariable Long ID,
+                                                             @RequestParam(defaultValue = "0") long after,
+                                                             @RequestParam(defaultValue = "100") int limit) {
+        if (taskImportService.getJob(ID).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(taskImportService.getRejects(ID, after, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{ID}/resume")
+    public ResponseEntity<TaskImportJob> resumeImport(@PathVariable Long ID) {
+        try {
+            return taskImportService.resume(ID)
+                    .map(job -> new ResponseEntity<>(job, HttpStatus.ACCEPTED))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
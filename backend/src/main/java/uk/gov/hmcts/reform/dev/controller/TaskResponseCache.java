@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.dev.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded {@code GET /tasks} responses, raw and gzipped, keyed by the task collection version
+ * and the query parameters. Entries for older versions are dropped as soon as a newer version is
+ * stored, and the total size is bounded with least-recently-used eviction.
+ */
+@Component
+public class TaskResponseCache {
+
+    // Below this, gzip framing outweighs the savings
+    private static final int MIN_COMPRESSIBLE_BYTES = 512;
+
+    private final long maxBytes;
+    private final long maxAgeNanos;
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version = -1;
+    private long totalBytes;
+
+    public TaskResponseCache(@Value("${app.tasks.response-cache.max-bytes:33554432}") long maxBytes,
+                             @Value("${app.tasks.response-cache.max-age-millis:60000}") long maxAgeMillis) {
+        this.maxBytes = maxBytes;
+        this.maxAgeNanos = maxAgeMillis * 1_000_000L;
+    }
+
+    public synchronized CachedResponse get(long version, String key) {
+        if (version != this.version) {
+            return null;
+        }
+        CachedResponse response = entries.get(key);
+        if (response != null && System.nanoTime() - response.createdNanos() > maxAgeNanos) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    public CachedResponse put(long version, String key, byte[] body) {
+        CachedResponse response = new CachedResponse(body, body.length >= MIN_COMPRESSIBLE_BYTES ? gzip(body) : null, System.nanoTime());
+        if (response.size() > maxBytes / 4) {
+            return response;
+        }
+
+        synchronized (this) {
+            if (version < this.version) {
+                return response;
+            }
+            if (version > this.version) {
+                entries.clear();
+                totalBytes = 0;
+                this.version = version;
+            }
+            remove(key);
+            entries.put(key, response);
+            totalBytes += response.size();
+
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().size();
+                eldest.remove();
+            }
+        }
+        return response;
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    public record CachedResponse(byte[] raw, byte[] gzipped, long createdNanos) {
+
+        long size() {
+            return raw.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+}
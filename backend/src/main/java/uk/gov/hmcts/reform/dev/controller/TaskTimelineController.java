@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import uk.gov.hmcts.reform.dev.models.TaskTimelineBucket;
+import uk.gov.hmcts.reform.dev.service.TaskTimelineService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "tasks/timeline")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskTimelineController {
+
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final TaskTimelineService taskTimelineService;
+
+    public TaskTimelineController(TaskTimelineService taskTimelineService) {
+        this.taskTimelineService = taskTimelineService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaskTimelineBucket>> getTimeline(
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusDays(DEFAULT_RANGE_DAYS - 1) : to;
+        try {
+            return ResponseEntity.ok(taskTimelineService.getTimeline(TaskTimelineBucket.Size.fromParam(bucket), start, end));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the calling client for read-your-writes stickiness, using the
+ * {@code X-Client-ID} header when present. Otherwise the first {@code X-Forwarded-For} hop is used,
+ * so that clients behind a proxy or load balancer do not all share the proxy's address, and the
+ * remote address only when neither header is sent.
+ */
+public class ClientIdentityFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-ID";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ClientIdentityFilter(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWritesTracker.setCurrentClient(clientID(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesTracker.clearCurrentClient();
+        }
+    }
+
+    private static String clientID(HttpServletRequest request) {
+        String clientID = request.getHeader(CLIENT_ID_HEADER);
+        if (clientID != null && !clientID.isBlank()) {
+            return clientID;
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor != null) {
+            String originalClient = forwardedFor.split(",", 2)[0].trim();
+            if (!originalClient.isEmpty()) {
+                return originalClient;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
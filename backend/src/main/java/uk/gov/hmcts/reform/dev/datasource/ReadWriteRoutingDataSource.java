@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * <p>The read-only flag is only known once the transaction has started, so this data source
+ * must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * Reads that must see the primary, without making the client sticky, go through {@link #onPrimary}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            this.replicas.put(key, replicas.get(i));
+            this.replicaKeys.add(key);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (primaryPinned.get() != null || readYourWritesTracker.isSticky()) {
+            return PRIMARY;
+        }
+        return selectReplica();
+    }
+
+    /**
+     * Falls back to the primary when the chosen replica cannot hand out a connection, rather than
+     * failing the read while the health check catches up.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = replicas.get(key);
+        if (target == null) {
+            return primary.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (unhealthyReplicas.add((String) key)) {
+                log.warn("Replica {} refused a connection, routing its reads to the primary", key, e);
+            }
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Runs {@code read} with read-only connections taken from the primary. The connection is only
+     * chosen on first use, so this works inside a read-only transaction that has not queried yet.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (primaryPinned.get() != null) {
+            return read.get();
+        }
+        primaryPinned.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            primaryPinned.remove();
+        }
+    }
+
+    private String selectReplica() {
+        int size = replicaKeys.size();
+        for (int attempt = 0; attempt < size; attempt++) {
+            String key = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), size));
+            if (!unhealthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    public void checkReplicaHealth(int timeoutSeconds) {
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            boolean healthy;
+            try (Connection connection = replica.getValue().getConnection()) {
+                healthy = connection.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy && unhealthyReplicas.remove(replica.getKey())) {
+                log.info("Replica {} is healthy again", replica.getKey());
+            } else if (!healthy && unhealthyReplicas.add(replica.getKey())) {
+                log.warn("Replica {} is unhealthy, routing its reads to the primary", replica.getKey());
+            }
+        }
+    }
+
+    public boolean isReplicaHealthy(String key) {
+        return replicas.containsKey(key) && !unhealthyReplicas.contains(key);
+    }
+
+    public void close() {
+        closeQuietly(primary);
+        replicas.values().forEach(ReadWriteRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.warn("Failed to close data source", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last wrote to the primary so that its follow-up reads
+ * can be pinned to the primary until the replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long stickinessNanos;
+
+    public ReadYourWritesTracker(long stickinessMillis) {
+        this.stickinessNanos = stickinessMillis * 1_000_000L;
+    }
+
+    public void setCurrentClient(String clientID) {
+        currentClient.set(clientID);
+    }
+
+    public void clearCurrentClient() {
+        currentClient.remove();
+    }
+
+    public void recordWrite() {
+        String clientID = currentClient.get();
+        if (clientID != null && stickinessNanos > 0) {
+            lastWriteNanos.put(clientID, System.nanoTime());
+        }
+    }
+
+    public boolean isSticky() {
+        String clientID = currentClient.get();
+        if (clientID == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteNanos.get(clientID);
+        return lastWrite != null && System.nanoTime() - lastWrite < stickinessNanos;
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+    }
+}
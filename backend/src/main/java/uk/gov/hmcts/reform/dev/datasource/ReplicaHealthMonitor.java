@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class ReplicaHealthMonitor {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final int timeoutSeconds;
+
+    public ReplicaHealthMonitor(ReadWriteRoutingDataSource routingDataSource,
+                                ReadYourWritesTracker readYourWritesTracker,
+                                int timeoutSeconds) {
+        this.routingDataSource = routingDataSource;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-millis:10000}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicaHealth(timeoutSeconds);
+        readYourWritesTracker.evictExpired();
+    }
+}
@@ -1,14 +1,32 @@
 package uk.gov.hmcts.reform.dev.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.generator.EventType;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_change_xid", columnList = "change_xid, id")
+})
+@SQLRestriction("deleted_at is null")
+// Repository deletes tombstone the row too, so delta sync reports them, and take it out of the due-date rollup
+@SQLDelete(sql = """
+        with deleted as (
+            update task set deleted_at = localtimestamp where id = ? and deleted_at is null returning due_date, status
+        )
+        insert into task_due_rollup (due_day, status, task_count)
+        select cast(due_date as date), status, -1 from deleted
+        on conflict (due_day, status) do update set task_count = task_due_rollup.task_count + excluded.task_count
+        """)
 public class Task {
 
     @Id
@@ -29,6 +47,22 @@ public class Task {
     @NotNull(message = "Due date must not be null")
     private LocalDateTime dueDate;
 
+    // Set when the task is deleted; the row is removed later by TaskTombstonePurger
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    // Position in the task_change_seq sequence of the last write, which orders writes to the same row.
+    // Stamped by the task_change_stamp trigger and read back from the insert's returning clause
+    @JsonIgnore
+    @Generated(event = EventType.INSERT)
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    // Transaction ID of the last write, set by the task_change_stamp trigger, used to page GET /tasks/changes
+    @JsonIgnore
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
     public Task() {}
 
     public Task(String title, String description, TaskStatus status, LocalDateTime dueDate) {
@@ -78,6 +112,30 @@ public class Task {
         this.dueDate = dueDate;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getChangeXid() {
+        return changeXid;
+    }
+
+    public void setChangeXid(Long changeXid) {
+        this.changeXid = changeXid;
+    }
+
     @Override
     public String toString() {
         return "Task{" +
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.util.List;
+
+/**
+ * Tasks created or updated, and IDs of tasks deleted, after a client's watermark.
+ * {@code resyncRequired} means deletions older than the watermark may already have been
+ * purged, so the client should reload every task and continue from {@code watermark}.
+ */
+public record TaskChanges(
+        List<Task> changed,
+        List<Long> deleted,
+        long watermark,
+        boolean hasMore,
+        boolean resyncRequired
+) {
+}
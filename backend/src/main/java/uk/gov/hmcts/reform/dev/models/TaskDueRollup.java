@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Number of live tasks due on a day with a given status, maintained incrementally by
+ * {@link uk.gov.hmcts.reform.dev.service.TaskTimelineService}.
+ */
+@Entity
+@Table(name = "task_due_rollup")
+public class TaskDueRollup {
+
+    @EmbeddedId
+    private TaskDueRollupKey id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    public TaskDueRollup() {}
+
+    public TaskDueRollup(TaskDueRollupKey id, long taskCount) {
+        this.id = id;
+        this.taskCount = taskCount;
+    }
+
+    public TaskDueRollupKey getId() {
+        return id;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class TaskDueRollupKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "due_day")
+    private LocalDate dueDay;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    public TaskDueRollupKey() {}
+
+    public TaskDueRollupKey(LocalDate dueDay, TaskStatus status) {
+        this.dueDay = dueDay;
+        this.status = status;
+    }
+
+    public LocalDate getDueDay() {
+        return dueDay;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskDueRollupKey other)) {
+            return false;
+        }
+        return Objects.equals(dueDay, other.dueDay) && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dueDay, status);
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk task import. {@code recordsProcessed} only advances when a chunk of tasks
+ * commits, so a failed or interrupted job can be resumed from exactly that record.
+ */
+@Entity
+@Table(name = "task_import_job")
+public class TaskImportJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format fromParam(String param) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(param)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown format: " + param);
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long ID;
+
+    @Column(nullable = false)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "records_processed", nullable = false)
+    private long recordsProcessed;
+
+    @Column(name = "tasks_imported", nullable = false)
+    private long tasksImported;
+
+    @Column(name = "records_rejected", nullable = false)
+    private long recordsRejected;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TaskImportJob() {}
+
+    public TaskImportJob(String source, Format format) {
+        this.source = source;
+        this.format = format;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+    }
+
+    public Long getID() {
+        return ID;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public long getTasksImported() {
+        return tasksImported;
+    }
+
+    public long getRecordsRejected() {
+        return recordsRejected;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
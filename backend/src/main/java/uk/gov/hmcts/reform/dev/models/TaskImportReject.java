@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.*;
+
+/**
+ * A record from a bulk import that could not be parsed or failed validation against the
+ * constraints on {@link Task}.
+ */
+@Entity
+@Table(name = "task_import_reject", indexes = {
+        @Index(name = "idx_task_import_reject_job", columnList = "job_id, record_number")
+})
+public class TaskImportReject {
+
+    public static final int MAX_CONTENT_LENGTH = 2000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long ID;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobID;
+
+    @Column(name = "record_number", nullable = false)
+    private long recordNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String reason;
+
+    @Column(length = MAX_CONTENT_LENGTH)
+    private String content;
+
+    public TaskImportReject() {}
+
+    public Long getJobID() {
+        return jobID;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.dev.models;
+
+/**
+ * One entry of a batch lookup. {@code task} is {@code null} when no task has the requested ID.
+ */
+public record TaskLookupResult(Long id, boolean found, Task task) {
+
+    public static TaskLookupResult of(Long id, Task task) {
+        return new TaskLookupResult(id, task != null, task);
+    }
+}
@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Filter, sort and page parameters for listing tasks. A {@code size} of 0 returns every matching task.
+ */
+public record TaskQuery(TaskStatus status, SortField sortBy, boolean descending, int page, int size) {
+
+    public static final TaskQuery ALL = new TaskQuery(null, SortField.ID, false, 0, 0);
+
+    public TaskQuery {
+        if (sortBy == null) {
+            sortBy = SortField.ID;
+        }
+        if (page < 0 || size < 0) {
+            throw new IllegalArgumentException("Page and size must not be negative");
+        }
+        if ((long) page * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page is out of range");
+        }
+    }
+
+    public static boolean descendingFromParam(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown direction: " + direction);
+    }
+
+    public boolean isPaged() {
+        return size > 0;
+    }
+
+    public long offset() {
+        return isPaged() ? (long) page * size : 0;
+    }
+
+    public Pageable toPageable() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, sortBy.getProperty());
+        // Tasks due at the same instant are ordered by ID, as the read model orders them
+        if (sortBy != SortField.ID) {
+            sort = sort.and(Sort.by(direction, SortField.ID.getProperty()));
+        }
+        return isPaged() ? PageRequest.of(page, size, sort) : Pageable.unpaged(sort);
+    }
+
+    public enum SortField {
+        ID("ID"),
+        DUE_DATE("dueDate");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static SortField fromParam(String param) {
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(param)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown sort field: " + param);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Tasks due between {@code start} and {@code end} (both inclusive), counted by status.
+ */
+public record TaskTimelineBucket(LocalDate start, LocalDate end, Map<TaskStatus, Long> counts, long total) {
+
+    public enum Size {
+        DAY,
+        WEEK;
+
+        public static Size fromParam(String param) {
+            for (Size size : values()) {
+                if (size.name().equalsIgnoreCase(param)) {
+                    return size;
+                }
+            }
+            throw new IllegalArgumentException("Unknown bucket: " + param);
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package uk.gov.hmcts.reform.dev.readmodel;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented, in-memory copy of the task table.
+ *
+ * <p>Each task occupies one row across primitive arrays; status filters are bitmaps over those
+ * rows and sort orders are row permutations. A sort order is built by the first query that needs
+ * it and then kept current on every write by moving the written row to its new position. Deleted
+ * rows stay in place (with their live bit cleared) until enough of them pile up to make
+ * compaction worthwhile.
+ *
+ * <p>Every row remembers the change sequence of the write that produced it, and writes carrying
+ * an older sequence are ignored. A delete of a task the store has not seen yet leaves a dead row
+ * behind, so that the create arriving after it is ignored too.
+ */
+public class ColumnarTaskStore {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    // Sort keys are packed as (key << ROW_BITS | row) so a plain long[] sort orders rows
+    private static final int ROW_BITS = 27;
+    private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+    private static final long MIN_PACKED_KEY = -(1L << (63 - ROW_BITS));
+    private static final long MAX_PACKED_KEY = 1L << (63 - ROW_BITS);
+    static final int MAX_ROWS = 1 << ROW_BITS;
+
+    private static final int MIN_DEAD_ROWS_TO_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int rowCount;
+    private int liveCount;
+    private long[] ids;
+    private long[] dueSeconds;
+    private int[] dueNanos;
+    private byte[] statuses;
+    private String[] titles;
+    private String[] descriptions;
+    private long[] changeSeqs;
+    private long[] liveBits;
+    private final long[][] statusBits = new long[STATUSES.length][];
+    private final int[] statusCounts = new int[STATUSES.length];
+    private LongIntHashMap rowsByID;
+
+    // Sized to the row capacity; only the first rowCount entries are in use
+    private boolean idsAscending = true;
+    private int[] idOrder;
+    private int[] dueDateOrder;
+
+    public ColumnarTaskStore() {
+        this(1024);
+    }
+
+    public ColumnarTaskStore(int initialCapacity) {
+        allocate(Math.max(64, initialCapacity));
+    }
+
+    public void upsert(Task task) {
+        long changeSeq = changeSeqOf(task.getChangeSeq());
+        long seconds = task.getDueDate().toEpochSecond(ZoneOffset.UTC);
+        int nanos = task.getDueDate().getNano();
+        lock.writeLock().lock();
+        try {
+            long id = task.getID();
+            int row = rowsByID.get(id);
+            if (row < 0) {
+                row = appendRow(id, seconds, nanos);
+            } else if (changeSeqs[row] > changeSeq) {
+                return;
+            } else {
+                if (isSet(liveBits, row)) {
+                    unindex(row);
+                }
+                moveDueDate(row, seconds, nanos);
+            }
+
+            statuses[row] = (byte) task.getStatus().ordinal();
+            titles[row] = task.getTitle();
+            descriptions[row] = task.getDescription();
+            changeSeqs[row] = changeSeq;
+            index(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, Long changeSeq) {
+        long removedSeq = changeSeqOf(changeSeq);
+        lock.writeLock().lock();
+        try {
+            int row = rowsByID.get(id);
+            if (row < 0) {
+                row = appendRow(id, 0, 0);
+                changeSeqs[row] = removedSeq;
+                return;
+            }
+            if (changeSeqs[row] > removedSeq) {
+                return;
+            }
+            changeSeqs[row] = removedSeq;
+            if (!isSet(liveBits, row)) {
+                return;
+            }
+            unindex(row);
+            titles[row] = null;
+            descriptions[row] = null;
+
+            int deadRows = rowCount - liveCount;
+            if (deadRows >= MIN_DEAD_ROWS_TO_COMPACT && deadRows > liveCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Task find(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowsByID.get(id);
+            return row >= 0 && isSet(liveBits, row) ? materialize(row) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count(TaskStatus status) {
+        lock.readLock().lock();
+        try {
+            return status == null ? liveCount : statusCounts[status.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> query(TaskQuery query) {
+        lock.readLock().lock();
+        if (!hasOrder(query.sortBy())) {
+            // Build the missing order under the write lock, then downgrade to the read lock
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                orderFor(query.sortBy());
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            long[] filter = query.status() == null ? liveBits : statusBits[query.status().ordinal()];
+            int matching = query.status() == null ? liveCount : statusCounts[query.status().ordinal()];
+            long offset = query.offset();
+            int limit = query.isPaged() ? query.size() : Integer.MAX_VALUE;
+            if (offset >= matching) {
+                return new ArrayList<>(0);
+            }
+            int skip = (int) offset;
+
+            List<Task> result = new ArrayList<>(Math.min(limit, matching - skip));
+            int[] order = orderFor(query.sortBy());
+            if (order == null) {
+                collectInRowOrder(filter, query.descending(), skip, limit, result);
+            } else {
+                collectInOrder(order, filter, query.descending(), skip, limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return count(null);
+    }
+
+    /**
+     * Bytes held by the columns, bitmaps, ID index and sort orders. Title and description
+     * strings are shared with nothing else, but are not included.
+     */
+    public long estimatedHeapBytes() {
+        lock.readLock().lock();
+        try {
+            long capacity = ids.length;
+            long bytes = capacity * (Long.BYTES + Long.BYTES + Integer.BYTES + Byte.BYTES + Long.BYTES);
+            bytes += capacity * 2 * referenceBytes();
+            bytes += (long) liveBits.length * Long.BYTES * (1 + STATUSES.length);
+            bytes += rowsByID.estimatedHeapBytes();
+            bytes += idOrder == null ? 0 : (long) idOrder.length * Integer.BYTES;
+            bytes += dueDateOrder == null ? 0 : (long) dueDateOrder.length * Integer.BYTES;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectInRowOrder(long[] filter, boolean descending, int skip, int limit, List<Task> result) {
+        int words = (rowCount + 63) >>> 6;
+        if (!descending) {
+            for (int word = 0; word < words && result.size() < limit; word++) {
+                long bits = filter[word];
+                while (bits != 0 && result.size() < limit) {
+                    int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result.add(materialize(row));
+                    }
+                }
+            }
+        } else {
+            for (int word = words - 1; word >= 0 && result.size() < limit; word--) {
+                long bits = filter[word];
+                while (bits != 0 && result.size() < limit) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    bits &= ~(1L << bit);
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result.add(materialize((word << 6) + bit));
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectInOrder(int[] order, long[] filter, boolean descending, int skip, int limit, List<Task> result) {
+        for (int i = 0; i < rowCount && result.size() < limit; i++) {
+            int row = order[descending ? rowCount - 1 - i : i];
+            if (!isSet(filter, row)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(materialize(row));
+            }
+        }
+    }
+
+    private boolean hasOrder(TaskQuery.SortField sortBy) {
+        if (sortBy == TaskQuery.SortField.DUE_DATE) {
+            return dueDateOrder != null;
+        }
+        return idsAscending || idOrder != null;
+    }
+
+    // Returns null when rows are already in the requested order. Building a missing order needs the write lock
+    private int[] orderFor(TaskQuery.SortField sortBy) {
+        if (sortBy == TaskQuery.SortField.DUE_DATE) {
+            if (dueDateOrder == null) {
+                dueDateOrder = sortedRows(dueSeconds);
+                breakDueDateTies(dueDateOrder);
+            }
+            return dueDateOrder;
+        }
+        if (idsAscending) {
+            return null;
+        }
+        if (idOrder == null) {
+            idOrder = sortedRows(ids);
+        }
+        return idOrder;
+    }
+
+    // Orders rows due in the same second by their nanos and then by ID, matching "order by due_date, id"
+    private void breakDueDateTies(int[] order) {
+        int[] buffer = null;
+        int start = 0;
+        while (start < rowCount) {
+            int end = start + 1;
+            while (end < rowCount && dueSeconds[order[end]] == dueSeconds[order[start]]) {
+                end++;
+            }
+            if (end - start > 1) {
+                if (buffer == null) {
+                    buffer = new int[rowCount];
+                }
+                mergeSortByDueDate(order, buffer, start, end);
+            }
+            start = end;
+        }
+    }
+
+    private void mergeSortByDueDate(int[] order, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSortByDueDate(order, buffer, from, middle);
+        mergeSortByDueDate(order, buffer, middle, to);
+        if (compareDueDates(order[middle - 1], order[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compareDueDates(buffer[left], buffer[right]) <= 0)) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    private int compareDueDates(int row, int other) {
+        return compareDueDate(dueSeconds[row], dueNanos[row], ids[row], other);
+    }
+
+    // Compares a (due date, ID) sort key with the key of row
+    private int compareDueDate(long seconds, int nanos, long id, int row) {
+        int bySeconds = Long.compare(seconds, dueSeconds[row]);
+        if (bySeconds != 0) {
+            return bySeconds;
+        }
+        int byNanos = Integer.compare(nanos, dueNanos[row]);
+        return byNanos != 0 ? byNanos : Long.compare(id, ids[row]);
+    }
+
+    // First of the first size positions in the due date order whose row sorts after the given key
+    private int dueDatePosition(long seconds, int nanos, long id, int size) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareDueDate(seconds, nanos, id, dueDateOrder[middle]) >= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // First of the first size positions in the ID order whose row has a larger ID
+    private int idPosition(long id, int size) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids[idOrder[middle]] <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Keeps an existing row's position in the due date order current as its due date changes
+    private void moveDueDate(int row, long seconds, int nanos) {
+        if (dueSeconds[row] == seconds && dueNanos[row] == nanos) {
+            return;
+        }
+        if (dueDateOrder != null) {
+            int from = dueDatePosition(dueSeconds[row], dueNanos[row], ids[row], rowCount) - 1;
+            System.arraycopy(dueDateOrder, from + 1, dueDateOrder, from, rowCount - from - 1);
+            dueSeconds[row] = seconds;
+            dueNanos[row] = nanos;
+            int to = dueDatePosition(seconds, nanos, ids[row], rowCount - 1);
+            System.arraycopy(dueDateOrder, to, dueDateOrder, to + 1, rowCount - to - 1);
+            dueDateOrder[to] = row;
+        } else {
+            dueSeconds[row] = seconds;
+            dueNanos[row] = nanos;
+        }
+    }
+
+    private int[] sortedRows(long[] keys) {
+        long[] packed = new long[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            long key = keys[row];
+            if (key < MIN_PACKED_KEY || key >= MAX_PACKED_KEY) {
+                int[] order = IntStream.range(0, rowCount).boxed()
+                        .sorted(Comparator.<Integer>comparingLong(r -> keys[r]).thenComparingInt(r -> r))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                return Arrays.copyOf(order, ids.length);
+            }
+            packed[row] = (key << ROW_BITS) | row;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[ids.length];
+        for (int i = 0; i < rowCount; i++) {
+            order[i] = (int) (packed[i] & ROW_MASK);
+        }
+        return order;
+    }
+
+    private Task materialize(int row) {
+        Task task = new Task(
+                titles[row],
+                descriptions[row],
+                STATUSES[statuses[row]],
+                LocalDateTime.ofEpochSecond(dueSeconds[row], dueNanos[row], ZoneOffset.UTC)
+        );
+        task.setID(ids[row]);
+        task.setChangeSeq(changeSeqs[row]);
+        return task;
+    }
+
+    private int appendRow(long id, long seconds, int nanos) {
+        if (rowCount == MAX_ROWS) {
+            throw new IllegalStateException("Read model is full");
+        }
+        if (rowCount == ids.length) {
+            grow(Math.min(MAX_ROWS, ids.length * 2));
+        }
+        int row = rowCount;
+        ids[row] = id;
+        dueSeconds[row] = seconds;
+        dueNanos[row] = nanos;
+        rowsByID.put(id, row);
+
+        if (idOrder != null) {
+            int position = idPosition(id, rowCount);
+            System.arraycopy(idOrder, position, idOrder, position + 1, rowCount - position);
+            idOrder[position] = row;
+        }
+        if (dueDateOrder != null) {
+            int position = dueDatePosition(seconds, nanos, id, rowCount);
+            System.arraycopy(dueDateOrder, position, dueDateOrder, position + 1, rowCount - position);
+            dueDateOrder[position] = row;
+        }
+        if (row > 0 && id < ids[row - 1]) {
+            idsAscending = false;
+        }
+        rowCount++;
+        return row;
+    }
+
+    private void index(int row) {
+        set(liveBits, row);
+        set(statusBits[statuses[row]], row);
+        statusCounts[statuses[row]]++;
+        liveCount++;
+    }
+
+    private void unindex(int row) {
+        clear(liveBits, row);
+        clear(statusBits[statuses[row]], row);
+        statusCounts[statuses[row]]--;
+        liveCount--;
+    }
+
+    private void compact() {
+        ColumnarTaskStoreSnapshot snapshot = new ColumnarTaskStoreSnapshot(this);
+        allocate(Math.max(64, liveCount * 2));
+        for (int i = 0; i < snapshot.rows.length; i++) {
+            int from = snapshot.rows[i];
+            int row = appendRow(snapshot.ids[from], snapshot.dueSeconds[from], snapshot.dueNanos[from]);
+            statuses[row] = snapshot.statuses[from];
+            titles[row] = snapshot.titles[from];
+            descriptions[row] = snapshot.descriptions[from];
+            changeSeqs[row] = snapshot.changeSeqs[from];
+            index(row);
+        }
+    }
+
+    private void allocate(int capacity) {
+        rowCount = 0;
+        liveCount = 0;
+        ids = new long[capacity];
+        dueSeconds = new long[capacity];
+        dueNanos = new int[capacity];
+        statuses = new byte[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+        changeSeqs = new long[capacity];
+        liveBits = new long[(capacity + 63) >>> 6];
+        for (int i = 0; i < STATUSES.length; i++) {
+            statusBits[i] = new long[liveBits.length];
+        }
+        Arrays.fill(statusCounts, 0);
+        rowsByID = new LongIntHashMap(capacity);
+        idsAscending = true;
+        idOrder = null;
+        dueDateOrder = null;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        dueSeconds = Arrays.copyOf(dueSeconds, capacity);
+        dueNanos = Arrays.copyOf(dueNanos, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        changeSeqs = Arrays.copyOf(changeSeqs, capacity);
+        liveBits = Arrays.copyOf(liveBits, (capacity + 63) >>> 6);
+        for (int i = 0; i < STATUSES.length; i++) {
+            statusBits[i] = Arrays.copyOf(statusBits[i], liveBits.length);
+        }
+        idOrder = idOrder == null ? null : Arrays.copyOf(idOrder, capacity);
+        dueDateOrder = dueDateOrder == null ? null : Arrays.copyOf(dueDateOrder, capacity);
+    }
+
+    private static long changeSeqOf(Long changeSeq) {
+        return changeSeq == null ? 0 : changeSeq;
+    }
+
+    private static int referenceBytes() {
+        // Compressed oops are the default for heaps under 32 GB
+        return Runtime.getRuntime().maxMemory() < 32L * 1024 * 1024 * 1024 ? 4 : 8;
+    }
+
+    private static boolean isSet(long[] bits, int row) {
+        return (bits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private static void set(long[] bits, int row) {
+        bits[row >>> 6] |= 1L << row;
+    }
+
+    private static void clear(long[] bits, int row) {
+        bits[row >>> 6] &= ~(1L << row);
+    }
+
+    // Live rows of a store in ID order, copied out before the store reallocates its columns
+    private static final class ColumnarTaskStoreSnapshot {
+
+        private final int[] rows;
+        private final long[] ids;
+        private final long[] dueSeconds;
+        private final int[] dueNanos;
+        private final byte[] statuses;
+        private final String[] titles;
+        private final String[] descriptions;
+        private final long[] changeSeqs;
+
+        private ColumnarTaskStoreSnapshot(ColumnarTaskStore store) {
+            int[] order = store.orderFor(TaskQuery.SortField.ID);
+            this.rows = (order == null ? IntStream.range(0, store.rowCount) : Arrays.stream(order, 0, store.rowCount))
+                    .filter(row -> isSet(store.liveBits, row))
+                    .toArray();
+            this.ids = store.ids;
+            this.dueSeconds = store.dueSeconds;
+            this.dueNanos = store.dueNanos;
+            this.statuses = store.statuses;
+            this.titles = store.titles;
+            this.descriptions = store.descriptions;
+            this.changeSeqs = store.changeSeqs;
+        }
+    }
+}
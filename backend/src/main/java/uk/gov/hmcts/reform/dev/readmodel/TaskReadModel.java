@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.dev.readmodel;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.service.TaskChangedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process read model answering list, filter, sort and count queries from a
+ * {@link ColumnarTaskStore}. It is loaded from the database once the application is ready
+ * and then kept current from committed {@link TaskChangedEvent}s. After-commit events can arrive
+ * out of commit order, so the store ignores any event older than the row it already holds.
+ */
+@Component
+public class TaskReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReadModel.class);
+
+    private final boolean enabled;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile ColumnarTaskStore store;
+    private boolean rebuilding;
+    private final List<TaskChangedEvent> pendingEvents = new ArrayList<>();
+
+    public TaskReadModel(@Value("${app.read-model.enabled:false}") boolean enabled,
+                         TaskRepository taskRepository,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return store != null;
+    }
+
+    public List<Task> query(TaskQuery query) {
+        return store.query(query);
+    }
+
+    public int count(TaskStatus status) {
+        return store.count(status);
+    }
+
+    public Optional<Task> find(long id) {
+        return Optional.ofNullable(store.find(id));
+    }
+
+    public long estimatedHeapBytes() {
+        ColumnarTaskStore current = store;
+        return current == null ? 0 : current.estimatedHeapBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            rebuilding = true;
+        }
+
+        long start = System.nanoTime();
+        ColumnarTaskStore newStore = new ColumnarTaskStore((int) Math.min(ColumnarTaskStore.MAX_ROWS, taskRepository.count()));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamAllOrderedByID()) {
+                tasks.forEach(task -> {
+                    newStore.upsert(task);
+                    entityManager.detach(task);
+                });
+            }
+        });
+
+        synchronized (this) {
+            pendingEvents.forEach(event -> apply(newStore, event));
+            pendingEvents.clear();
+            store = newStore;
+            rebuilding = false;
+        }
+        log.info("Loaded {} tasks into the read model in {} ms (~{} KB excluding strings)",
+                newStore.size(), (System.nanoTime() - start) / 1_000_000, newStore.estimatedHeapBytes() / 1024);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (rebuilding) {
+                pendingEvents.add(event);
+            } else if (store != null) {
+                apply(store, event);
+            }
+        }
+    }
+
+    private static void apply(ColumnarTaskStore store, TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> store.upsert(event.task());
+            case DELETED -> store.remove(event.taskID(), event.changeSeq());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollup;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollupKey;
+
+@Repository
+public interface TaskDueRollupRepository extends JpaRepository<TaskDueRollup, TaskDueRollupKey> {
+
+}
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Writes that only touch tasks which have not been deleted, each in one statement that reports
+ * what it changed. The change sequence is stamped by the database as the row is written.
+ */
+public interface TaskGuardedWrites {
+
+    /**
+     * Sets the status of a task, locking the row and returning the values it held before. Empty
+     * when there is no such task, including when a concurrent delete commits first.
+     */
+    Optional<StatusChange> updateStatus(Long ID, TaskStatus status);
+
+    // Tombstones a task and returns the change sequence of the tombstone, or empty when there is no such task
+    Optional<Long> softDelete(Long ID, LocalDateTime deletedAt);
+
+    record StatusChange(Task task, TaskStatus previousStatus, LocalDateTime previousDueDate) {}
+}
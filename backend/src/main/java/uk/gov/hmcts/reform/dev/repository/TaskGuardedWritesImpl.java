@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class TaskGuardedWritesImpl implements TaskGuardedWrites {
+
+    // The previous values are read under the row lock, so concurrent updates each see the state the other left
+    private static final String UPDATE_STATUS_SQL = """
+            with previous as (
+                select id, status, due_date from task where id = ? and deleted_at is null for update
+            )
+            update task t set status = ?
+            from previous
+            where t.id = previous.id
+            returning t.id, t.title, t.description, t.status, t.due_date, t.change_seq,
+                      previous.status as previous_status, previous.due_date as previous_due_date
+            """;
+
+    private static final String SOFT_DELETE_SQL =
+            "update task set deleted_at = ? where id = ? and deleted_at is null returning change_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public TaskGuardedWritesImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(Long ID, TaskStatus status) {
+        entityManager.flush();
+        List<StatusChange> changes = jdbcTemplate.query(UPDATE_STATUS_SQL, (rs, rowNum) -> {
+            Task task = new Task(
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    TaskStatus.valueOf(rs.getString("status")),
+                    rs.getObject("due_date", LocalDateTime.class)
+            );
+            task.setID(rs.getLong("id"));
+            task.setChangeSeq(rs.getLong("change_seq"));
+            return new StatusChange(task,
+                    TaskStatus.valueOf(rs.getString("previous_status")),
+                    rs.getObject("previous_due_date", LocalDateTime.class));
+        }, ID, status.name());
+        // Managed copies of the row are now stale
+        entityManager.clear();
+        return changes.stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> softDelete(Long ID, LocalDateTime deletedAt) {
+        entityManager.flush();
+        List<Long> changeSeqs = jdbcTemplate.queryForList(SOFT_DELETE_SQL, Long.class, deletedAt, ID);
+        entityManager.clear();
+        return changeSeqs.stream().findFirst();
+    }
+}
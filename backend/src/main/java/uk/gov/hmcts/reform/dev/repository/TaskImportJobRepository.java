@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.TaskImportJob;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskImportJobRepository extends JpaRepository<TaskImportJob, Long> {
+
+    List<TaskImportJob> findTop50ByOrderByCreatedAtDesc();
+
+    // Claims a job for this instance. A RUNNING job counts as abandoned once it has not made progress since staleBefore
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskImportJob j set j.status = :running, j.error = null, j.updatedAt = :now "
+            + "where j.ID = :ID and (j.status in :claimable or (j.status = :running and j.updatedAt < :staleBefore))")
+    int claim(@Param("ID") Long ID, @Param("running") TaskImportJob.Status running,
+              @Param("claimable") Collection<TaskImportJob.Status> claimable,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskImportJob j set j.recordsProcessed = :recordsProcessed, j.tasksImported = j.tasksImported + :imported, "
+            + "j.recordsRejected = j.recordsRejected + :rejected, j.updatedAt = :now where j.ID = :ID")
+    int recordProgress(@Param("ID") Long ID, @Param("recordsProcessed") long recordsProcessed,
+                       @Param("imported") long imported, @Param("rejected") long rejected, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskImportJob j set j.status = :status, j.error = :error, j.updatedAt = :now where j.ID = :ID")
+    int finish(@Param("ID") Long ID, @Param("status") TaskImportJob.Status status,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+}
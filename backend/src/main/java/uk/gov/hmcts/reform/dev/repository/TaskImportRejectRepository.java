@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.TaskImportReject;
+
+import java.util.List;
+
+@Repository
+public interface TaskImportRejectRepository extends JpaRepository<TaskImportReject, Long> {
+
+    List<TaskImportReject> findByJobIDAndRecordNumberGreaterThanOrderByRecordNumber(Long jobID, long afterRecord, Pageable pageable);
+}
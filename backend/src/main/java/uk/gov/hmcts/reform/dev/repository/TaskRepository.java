@@ -1,13 +1,54 @@
 package uk.gov.hmcts.reform.dev.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskGuardedWrites {
+
+    List<Task> findAllBy(Pageable pageable);
+
+    List<Task> findByStatus(TaskStatus status, Pageable pageable);
+
+    long countByStatus(TaskStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.ID")
+    Stream<Task> streamAllOrderedByID();
+
+    // The native queries below can see the tombstoned rows hidden from every JPQL query
+
+    @Query(value = "select * from task where change_xid >= :since and change_xid < :upTo order by change_xid, id limit :limit",
+            nativeQuery = true)
+    List<Task> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo, @Param("limit") int limit);
+
+    @Query(value = "select * from task where change_xid = :changeXid order by id", nativeQuery = true)
+    List<Task> findChangedIn(@Param("changeXid") long changeXid);
+
+    @Query(value = "select max(change_xid) from task where deleted_at < :cutoff", nativeQuery = true)
+    Long findMaxChangeXidDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from task where id in (select id from task where deleted_at < :cutoff order by deleted_at limit :batchSize)",
+            nativeQuery = true)
+    int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
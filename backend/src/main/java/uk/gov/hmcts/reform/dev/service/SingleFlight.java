@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses identical concurrent reads into one call. The first caller for a key runs the call
+ * on its own thread; callers arriving while it is in flight wait for and share its result, or
+ * its exception. Nothing is kept once the call completes, so the next caller starts afresh.
+ *
+ * <p>A caller that has waited {@code timeout-millis} without a result stops waiting and runs
+ * the call itself, so one stuck query cannot hold every request for the same key.
+ */
+@Component
+public class SingleFlight {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public record Stats(String operation, long calls, long executions, long coalesced, long errors, long timeouts) {
+    }
+
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(@Value("${app.tasks.single-flight.enabled:true}") boolean enabled,
+                        @Value("${app.tasks.single-flight.timeout-millis:2000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs {@code call}, or joins an identical call already in flight. {@code operation} names
+     * the read for the statistics; {@code key} must capture every argument that affects the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(String operation, Object key, Call<T, E> call) throws E {
+        Counters stats = counters.computeIfAbsent(operation, name -> new Counters());
+        stats.calls.increment();
+        if (!enabled) {
+            return run(stats, call);
+        }
+
+        Key flightKey = new Key(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing == null) {
+            return lead(stats, flightKey, flight, call);
+        }
+
+        stats.coalesced.increment();
+        try {
+            return (T) existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // The call can only throw E, so any other checked exception is one
+            throw (E) cause;
+        } catch (TimeoutException e) {
+            stats.timeouts.increment();
+            return run(stats, call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + operation, e);
+        }
+    }
+
+    public List<Stats> stats() {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(Stats::operation))
+                .toList();
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private <T, E extends Exception> T lead(Counters stats, Key flightKey, CompletableFuture<Object> flight,
+                                            Call<T, E> call) throws E {
+        try {
+            T result = run(stats, call);
+            // Removed before completing, so a caller that misses this flight starts a new one instead of reading a stale result
+            inFlight.remove(flightKey, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <T, E extends Exception> T run(Counters stats, Call<T, E> call) throws E {
+        stats.executions.increment();
+        try {
+            return call.call();
+        } catch (Exception e) {
+            stats.errors.increment();
+            throw e;
+        }
+    }
+
+    private record Key(String operation, Object key) {
+    }
+
+    private static final class Counters {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        Stats snapshot(String operation) {
+            return new Stats(operation, calls.sum(), executions.sum(), coalesced.sum(), errors.sum(), timeouts.sum());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the change stamps on task rows and works out how far a delta-sync client can safely
+ * advance its watermark.
+ *
+ * <p>The {@code task_change_stamp} trigger stamps every inserted or updated row, however it is
+ * written, with the next value of the {@code task_change_seq} sequence and the ID of the writing
+ * transaction. Row locks order writes to the same row, so its sequence values rise in commit
+ * order. Across rows they do not: a write holding a lower value can become visible after one
+ * holding a higher value. Delta sync is therefore paged by transaction ID, and the watermark is the
+ * oldest transaction still running on the primary. Every transaction below it has finished, so
+ * none of its rows can appear later.
+ *
+ * <p>The purge high-water mark lives in the one-row {@code task_purge_mark} table so that every
+ * instance, including one that has just restarted, reports the same value.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskChangeSequence {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // None of these is mapped by an entity, so Hibernate's ddl-auto does not create them
+    @PostConstruct
+    void createSequence() {
+        jdbcTemplate.execute("create sequence if not exists task_change_seq");
+        jdbcTemplate.execute("""
+                create or replace function task_change_stamp() returns trigger language plpgsql as $$
+                begin
+                    new.change_seq := nextval('task_change_seq');
+                    new.change_xid := pg_current_xact_id()::text::bigint;
+                    return new;
+                end
+                $$""");
+        jdbcTemplate.execute("create or replace trigger task_change_stamp before insert or update on task "
+                + "for each row execute function task_change_stamp()");
+        // Touching rows written before the trigger existed makes the trigger stamp them
+        jdbcTemplate.update("update task set change_seq = null where change_seq is null or change_xid is null");
+        jdbcTemplate.execute("create table if not exists task_purge_mark "
+                + "(id int primary key check (id = 1), purged_through bigint not null)");
+        jdbcTemplate.update("insert into task_purge_mark (id, purged_through) values (1, 0) on conflict do nothing");
+    }
+
+    /**
+     * The lowest transaction ID that may still be running on the primary. Rows stamped with a
+     * lower ID are final until they are written again.
+     */
+    public long safeWatermark() {
+        return jdbcTemplate.queryForObject("select pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+    }
+
+    public long purgedThrough() {
+        return jdbcTemplate.queryForObject("select purged_through from task_purge_mark where id = 1", Long.class);
+    }
+
+    /**
+     * Raises the purge high-water mark. Call it in the transaction that purges the rows, so the
+     * mark and the deletes become visible together.
+     */
+    public void recordPurgedThrough(long changeXid) {
+        jdbcTemplate.update("update task_purge_mark set purged_through = greatest(purged_through, ?) where id = 1", changeXid);
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link TaskService} for every write. {@code task} is the saved state and is
+ * {@code null} for deletions. For updates, {@code previousStatus} and {@code previousDueDate}
+ * hold the values before the change. {@code changeSeq} is the row's change sequence after the
+ * write, so listeners can tell which of two events for the same task is newer.
+ */
+public record TaskChangedEvent(Type type, Long taskID, Task task, TaskStatus previousStatus, LocalDateTime previousDueDate,
+                               Long changeSeq) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getID(), task, null, null, task.getChangeSeq());
+    }
+
+    public static TaskChangedEvent updated(Task task, TaskStatus previousStatus, LocalDateTime previousDueDate) {
+        return new TaskChangedEvent(Type.UPDATED, task.getID(), task, previousStatus, previousDueDate, task.getChangeSeq());
+    }
+
+    public static TaskChangedEvent deleted(Long taskID, Long changeSeq) {
+        return new TaskChangedEvent(Type.DELETED, taskID, null, null, null, changeSeq);
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the task collection, bumped after every committed write. Anything derived from the
+ * collection can be cached against the version read before the data was loaded.
+ *
+ * <p>Writes through this instance's {@link TaskService} bump the version straight away. Writes made
+ * elsewhere, by other instances, repository deletes or bulk imports, are noticed when
+ * {@link #syncWithDatabase} sees the {@code task_change_seq} sequence move past the values this
+ * instance's own writes took, so they can be served stale for up to one sync interval. Every task
+ * row write takes a sequence value, so none goes unnoticed; values lost to rolled-back writes
+ * only cost an unnecessary bump.
+ */
+@Component
+public class TaskCollectionVersion {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong version = new AtomicLong();
+    // Sequence values taken by this instance's writes and not yet passed by a sync
+    private final NavigableSet<Long> ownChangeSeqs = new TreeSet<>();
+    private long lastSeenChangeSeq = -1;
+
+    public TaskCollectionVersion(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    // Runs after other listeners, such as the read model, have applied the change
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump();
+        if (event.changeSeq() != null) {
+            recordOwnWrite(event.changeSeq());
+        }
+    }
+
+    // A value the last sync already passed was counted as someone else's write, so it is not kept
+    private synchronized void recordOwnWrite(long changeSeq) {
+        if (changeSeq > lastSeenChangeSeq) {
+            ownChangeSeqs.add(changeSeq);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.response-cache.version-sync-millis:1000}")
+    public synchronized void syncWithDatabase() {
+        Long changeSeq = jdbcTemplate.queryForObject("select last_value from task_change_seq", Long.class);
+        if (changeSeq == null || changeSeq == lastSeenChangeSeq) {
+            return;
+        }
+        // On the first sync, or if the sequence was reset, nothing is known about which writes are new
+        boolean unknown = lastSeenChangeSeq < 0 || changeSeq < lastSeenChangeSeq;
+        NavigableSet<Long> passed = unknown ? ownChangeSeqs : ownChangeSeqs.headSet(changeSeq, true);
+        // Values in (lastSeen, changeSeq] that this instance did not take belong to writes it has not bumped for
+        long foreignWrites = changeSeq - lastSeenChangeSeq - passed.size();
+        passed.clear();
+        if (unknown || foreignWrites > 0) {
+            bump();
+        }
+        lastSeenChangeSeq = changeSeq;
+    }
+}
@@ -1,44 +1,175 @@
 package uk.gov.hmcts.reform.dev.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.datasource.ReadWriteRoutingDataSource;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChanges;
+import uk.gov.hmcts.reform.dev.models.TaskLookupResult;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.readmodel.TaskReadModel;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class TaskService {
 
+    public static final int MAX_LOOKUP_IDS = 5000;
+
+    public static final int MAX_CHANGES_LIMIT = 5000;
+
+    // Keeps IN lists well below PostgreSQL's 32767 bind parameter limit
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskReadModel taskReadModel;
+    private final TaskChangeSequence taskChangeSequence;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                       TaskReadModel taskReadModel, TaskChangeSequence taskChangeSequence) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.taskReadModel = taskReadModel;
+        this.taskChangeSequence = taskChangeSequence;
     }
 
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task createdTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(createdTask));
+        return createdTask;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Task> getTaskByID(Long ID) {
         return taskRepository.findById(ID);
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskLookupResult> getTasksByIDs(List<Long> IDs) {
+        if (IDs.size() > MAX_LOOKUP_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " IDs can be looked up at once");
+        }
+        if (IDs.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs must not be null");
+        }
+
+        Map<Long, Task> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long ID : new LinkedHashSet<>(IDs)) {
+            Optional<Task> cached = taskReadModel.isReady() ? taskReadModel.find(ID) : Optional.empty();
+            if (cached.isPresent()) {
+                found.put(ID, cached.get());
+            } else {
+                missing.add(ID);
+            }
+        }
+
+        // The read model only sees writes made through this instance, so its misses are checked against the database
+        for (int start = 0; start < missing.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(start, Math.min(missing.size(), start + LOOKUP_CHUNK_SIZE));
+            taskRepository.findAllById(chunk).forEach(task -> found.put(task.getID(), task));
+        }
+
+        return IDs.stream()
+                .map(ID -> TaskLookupResult.of(ID, found.get(ID)))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
+        if (taskReadModel.isReady()) {
+            return taskReadModel.query(TaskQuery.ALL);
+        }
         return taskRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<Task> getTasks(TaskQuery query) {
+        if (taskReadModel.isReady()) {
+            return taskReadModel.query(query);
+        }
+        return query.status() == null
+                ? taskRepository.findAllBy(query.toPageable())
+                : taskRepository.findByStatus(query.status(), query.toPageable());
+    }
+
+    @Transactional(readOnly = true)
+    public long countTasks(TaskStatus status) {
+        if (taskReadModel.isReady()) {
+            return taskReadModel.count(status);
+        }
+        return status == null ? taskRepository.count() : taskRepository.countByStatus(status);
+    }
+
+    // Pinned to the primary, whose snapshot bounds the watermark, without counting as a write
+    @Transactional(readOnly = true)
+    public TaskChanges getChangesSince(long since, int limit) {
+        if (since < 0 || limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new IllegalArgumentException("since must not be negative and limit must be between 1 and " + MAX_CHANGES_LIMIT);
+        }
+        return ReadWriteRoutingDataSource.onPrimary(() -> readChangesSince(since, limit));
+    }
+
+    private TaskChanges readChangesSince(long since, int limit) {
+        long upTo = taskChangeSequence.safeWatermark();
+        List<Task> rows = upTo > since ? taskRepository.findChangedBetween(since, upTo, limit) : List.of();
+        long watermark = Math.max(since, upTo);
+        boolean hasMore = rows.size() == limit;
+        if (hasMore) {
+            long lastXid = rows.get(rows.size() - 1).getChangeXid();
+            if (rows.get(0).getChangeXid() == lastXid) {
+                // One transaction wrote more rows than the limit. They are returned together so the watermark can pass it
+                rows = taskRepository.findChangedIn(lastXid);
+                watermark = lastXid + 1;
+            } else {
+                // A transaction's rows are never split across pages, so the last one is left for the next call
+                rows = rows.stream().filter(task -> task.getChangeXid() != lastXid).toList();
+                watermark = lastXid;
+            }
+        }
+
+        List<Task> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Task task : rows) {
+            if (task.getDeletedAt() == null) {
+                changed.add(task);
+            } else {
+                deleted.add(task.getID());
+            }
+        }
+
+        boolean resyncRequired = since > 0 && since <= taskChangeSequence.purgedThrough();
+        return new TaskChanges(changed, deleted, watermark, hasMore, resyncRequired);
+    }
+
+    // Only the status can change. A task deleted concurrently is reported as not found rather than brought back
+    @Transactional
     public Optional<Task> updateTask(Long ID, Task updatedTask) {
-        return taskRepository.findById(ID).map(
-                existingTask -> {
-                    existingTask.setStatus(updatedTask.getStatus());
-                    return taskRepository.save(existingTask);
+        return taskRepository.updateStatus(ID, updatedTask.getStatus()).map(
+                change -> {
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(
+                            change.task(), change.previousStatus(), change.previousDueDate()));
+                    return change.task();
                 });
     }
 
+    @Transactional
     public void deleteTask(Long ID) {
-        taskRepository.deleteById(ID);
+        taskRepository.softDelete(ID, LocalDateTime.now())
+                .ifPresent(changeSeq -> eventPublisher.publishEvent(TaskChangedEvent.deleted(ID, changeSeq)));
     }
 }
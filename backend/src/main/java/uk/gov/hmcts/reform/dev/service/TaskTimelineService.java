@@ -0,0 +1,253 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollup;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.TaskTimelineBucket;
+import uk.gov.hmcts.reform.dev.repository.TaskDueRollupRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves due-date workload histograms from the {@code task_due_rollup} table.
+ *
+ * <p>Every task write adjusts the affected (day, status) rows inside its own transaction. Timeline
+ * requests are answered from an in-memory copy of the table, which is reloaded by the first request
+ * after a write on this instance commits, and periodically to pick up writes made by other instances.
+ * Counts only ever change through the table, so a reload cannot race with a delta applied in memory.
+ * One instance recomputes the table from {@code task} nightly to correct any drift.
+ */
+@Service
+public class TaskTimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTimelineService.class);
+
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final String UPSERT_SQL =
+            "insert into task_due_rollup (due_day, status, task_count) values (?, ?, ?) "
+            + "on conflict (due_day, status) do update set task_count = task_due_rollup.task_count + excluded.task_count";
+
+    // Deletes do not load the task, so its bucket is read from the tombstoned row in the same statement
+    private static final String DECREMENT_DELETED_SQL =
+            "insert into task_due_rollup (due_day, status, task_count) "
+            + "select cast(due_date as date), status, -1 from task where id = ? "
+            + "on conflict (due_day, status) do update set task_count = task_due_rollup.task_count + excluded.task_count "
+            + "returning due_day, status";
+
+    // Held until the reconcile transaction ends, so instances sharing the schedule do not queue up behind each other
+    private static final String TRY_RECONCILE_LOCK_SQL = "select pg_try_advisory_xact_lock(hashtext('task_due_rollup'))";
+
+    private static final String RECOUNT_SQL =
+            "insert into task_due_rollup (due_day, status, task_count) "
+            + "select cast(due_date as date), status, count(*) from task where deleted_at is null group by 1, 2";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskDueRollupRepository taskDueRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong committedWrites = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(-1, new TreeMap<>());
+
+    public TaskTimelineService(JdbcTemplate jdbcTemplate,
+                               TaskDueRollupRepository taskDueRollupRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskDueRollupRepository = taskDueRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<TaskTimelineBucket> getTimeline(TaskTimelineBucket.Size size, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("to must not be before from, and the range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Snapshot current = snapshot;
+        if (current.writes() != committedWrites.get()) {
+            current = loadIfStale();
+        }
+        List<TaskTimelineBucket> buckets = new ArrayList<>();
+        LocalDate start = from;
+        while (!start.isAfter(to)) {
+            LocalDate end = size == TaskTimelineBucket.Size.WEEK ? start.with(DayOfWeek.SUNDAY) : start;
+            if (end.isAfter(to)) {
+                end = to;
+            }
+
+            long[] bucketCounts = new long[STATUSES.length];
+            for (long[] day : current.counts().subMap(start, true, end, true).values()) {
+                for (int i = 0; i < STATUSES.length; i++) {
+                    bucketCounts[i] += day[i];
+                }
+            }
+
+            Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+            long total = 0;
+            for (TaskStatus status : STATUSES) {
+                byStatus.put(status, bucketCounts[status.ordinal()]);
+                total += bucketCounts[status.ordinal()];
+            }
+            buckets.add(new TaskTimelineBucket(start, end, byStatus, total));
+            start = end.plusDays(1);
+        }
+        return buckets;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Delta> deltas = switch (event.type()) {
+            case CREATED -> List.of(new Delta(event.task().getDueDate(), event.task().getStatus(), 1));
+            case UPDATED -> sameBucket(event)
+                    ? List.of()
+                    : List.of(new Delta(event.previousDueDate(), event.previousStatus(), -1),
+                              new Delta(event.task().getDueDate(), event.task().getStatus(), 1));
+            case DELETED -> jdbcTemplate.query(DECREMENT_DELETED_SQL,
+                    (rs, row) -> new Delta(rs.getObject(1, LocalDate.class), TaskStatus.valueOf(rs.getString(2)), -1),
+                    event.taskID());
+        };
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        if (event.type() != TaskChangedEvent.Type.DELETED) {
+            upsert(deltas);
+        }
+        recordWrite();
+    }
+
+    /**
+     * Adds bulk-loaded tasks, which publish no {@link TaskChangedEvent}, to the rollup in the
+     * caller's transaction, so that they are counted exactly when they commit.
+     */
+    public void onTasksImported(List<Task> tasks) {
+        NavigableMap<LocalDate, long[]> perDay = new TreeMap<>();
+        for (Task task : tasks) {
+            long[] counts = perDay.computeIfAbsent(task.getDueDate().toLocalDate(), day -> new long[STATUSES.length]);
+            counts[task.getStatus().ordinal()]++;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        perDay.forEach((day, counts) -> {
+            for (TaskStatus status : STATUSES) {
+                if (counts[status.ordinal()] != 0) {
+                    deltas.add(new Delta(day, status, counts[status.ordinal()]));
+                }
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        upsert(deltas);
+        recordWrite();
+    }
+
+    private void upsert(List<Delta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (statement, delta) -> {
+            statement.setObject(1, delta.day());
+            statement.setString(2, delta.status().name());
+            statement.setLong(3, delta.change());
+        });
+    }
+
+    // The in-memory copy is reloaded once the write is visible in the table
+    private void recordWrite() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committedWrites.incrementAndGet();
+                }
+            });
+        } else {
+            committedWrites.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.timeline.refresh-millis:30000}",
+            initialDelayString = "${app.tasks.timeline.refresh-millis:30000}")
+    public void reload() {
+        load();
+    }
+
+    @Scheduled(cron = "${app.tasks.timeline.reconcile-cron:0 30 0 * * *}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Integer rows = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_RECONCILE_LOCK_SQL, Boolean.class))) {
+                return null;
+            }
+            // Blocks rollup upserts, but not reads, until the replacement commits. A write that upserted
+            // first is waited for and counted by the recount; one that upserts later applies on top of it.
+            // The recount runs in the database, so the lock is held for two statements and no round trips of rows
+            jdbcTemplate.execute("lock table task_due_rollup in exclusive mode");
+            jdbcTemplate.update("delete from task_due_rollup");
+            return jdbcTemplate.update(RECOUNT_SQL);
+        });
+        if (rows == null) {
+            log.info("Skipped due-date rollup reconcile, another instance is running it");
+            return;
+        }
+        load();
+        log.info("Reconciled {} due-date rollup rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Replaces the in-memory copy with the table's contents. Serialised, and the write count is read
+     * before the table, so a published copy always includes every write it claims to.
+     */
+    private synchronized Snapshot load() {
+        long writes = committedWrites.get();
+        NavigableMap<LocalDate, long[]> reloaded = new TreeMap<>();
+        for (TaskDueRollup rollup : taskDueRollupRepository.findAll()) {
+            long[] day = reloaded.computeIfAbsent(rollup.getId().getDueDay(), key -> new long[STATUSES.length]);
+            day[rollup.getId().getStatus().ordinal()] += rollup.getTaskCount();
+        }
+        snapshot = new Snapshot(writes, reloaded);
+        return snapshot;
+    }
+
+    // Requests that queued behind another request's reload reuse its result
+    private synchronized Snapshot loadIfStale() {
+        Snapshot current = snapshot;
+        return current.writes() == committedWrites.get() ? current : load();
+    }
+
+    private static boolean sameBucket(TaskChangedEvent event) {
+        Task task = event.task();
+        return task.getStatus() == event.previousStatus()
+                && task.getDueDate().toLocalDate().equals(event.previousDueDate().toLocalDate());
+    }
+
+    // Counts per day, indexed by status ordinal. Never modified once published
+    private record Snapshot(long writes, NavigableMap<LocalDate, long[]> counts) {
+    }
+
+    private record Delta(LocalDate day, TaskStatus status, long change) {
+
+        Delta(LocalDateTime dueDate, TaskStatus status, long change) {
+            this(dueDate.toLocalDate(), status, change);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes soft-deleted tasks in small batches, pausing between them, so that the primary
+ * sees a steady trickle of deletes (and vacuum work) instead of one large spike.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskTombstonePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTombstonePurger.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskChangeSequence taskChangeSequence;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionHours;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+
+    public TaskTombstonePurger(TaskRepository taskRepository,
+                               TaskChangeSequence taskChangeSequence,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.tasks.purge.retention-hours:24}") long retentionHours,
+                               @Value("${app.tasks.purge.batch-size:500}") int batchSize,
+                               @Value("${app.tasks.purge.max-batches-per-run:200}") int maxBatchesPerRun,
+                               @Value("${app.tasks.purge.pause-millis:250}") long pauseMillis) {
+        this.taskRepository = taskRepository;
+        this.taskChangeSequence = taskChangeSequence;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionHours = retentionHours;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+    }
+
+    // Almost every row has a null deleted_at, so only tombstones are indexed. JPA cannot declare a partial index.
+    // Built concurrently so that a first start against a large table does not block writes; a build that was
+    // interrupted leaves an invalid index behind, which is dropped and built again
+    @PostConstruct
+    void createTombstoneIndex() {
+        Boolean valid = jdbcTemplate.query(
+                "select indisvalid from pg_index where indexrelid = to_regclass('idx_task_tombstones')",
+                rs -> rs.next() ? rs.getBoolean(1) : null);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            jdbcTemplate.execute("drop index concurrently if exists idx_task_tombstones");
+        }
+        jdbcTemplate.execute("create index concurrently if not exists idx_task_tombstones on task (deleted_at) where deleted_at is not null");
+    }
+
+    @Scheduled(cron = "${app.tasks.purge.cron:0 */10 1-5 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Long purgeThrough = taskRepository.findMaxChangeXidDeletedBefore(cutoff);
+        if (purgeThrough == null) {
+            return;
+        }
+        long purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            // The mark commits with the first batch, so delta-sync clients are told to resync as soon as rows go
+            Integer deleted = transactionTemplate.execute(status -> {
+                taskChangeSequence.recordPurgedThrough(purgeThrough);
+                return taskRepository.purgeDeletedBefore(cutoff, batchSize);
+            });
+            purged += deleted == null ? 0 : deleted;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} deleted tasks older than {}", purged, cutoff);
+        }
+    }
+}
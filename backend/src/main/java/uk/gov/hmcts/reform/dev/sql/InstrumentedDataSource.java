@@ -0,0 +1,144 @@
+package uk.gov.hmcts.reform.dev.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Wraps connections so that every statement they execute is timed and reported to
+ * {@link SqlStatementStatistics}. Everything else, including {@code unwrap}, goes straight to the
+ * underlying driver objects.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlStatementStatistics statistics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, SqlStatementStatistics statistics) {
+        super(targetDataSource);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection instrument(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, sql);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, sql);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Statement target, String sql) {
+            return Proxy.newProxyInstance(
+                    InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(target, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final boolean sampleParameters;
+        private String batchSql;
+        private Map<Integer, Object> parameters;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.sampleParameters = preparedSql != null && statistics.shouldSampleParameters();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (sampleParameters) {
+                captureParameter(name, args);
+            } else if ("addBatch".equals(name) && args != null && args[0] instanceof String sql) {
+                batchSql = sql;
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : preparedSql != null ? preparedSql : batchSql;
+            boolean success = false;
+            long start = System.nanoTime();
+            try {
+                Object result = InstrumentedDataSource.invoke(target, method, args);
+                success = true;
+                return result;
+            } finally {
+                if (sql != null) {
+                    statistics.record(sql, System.nanoTime() - start, success, parameters);
+                }
+            }
+        }
+
+        private void captureParameter(String name, Object[] args) {
+            if ("clearParameters".equals(name)) {
+                parameters = null;
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                if (parameters == null) {
+                    parameters = new TreeMap<>();
+                }
+                parameters.put(index, "setNull".equals(name) ? null : args[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and a latency histogram for one query shape. Bucket {@code i} counts executions
+ * taking less than 2<sup>i</sup> microseconds, so percentiles are reported as bucket upper bounds.
+ */
+class QueryShapeStatistics {
+
+    private static final int BUCKETS = 32;
+
+    private final String shape;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    QueryShapeStatistics(String shape) {
+        this.shape = shape;
+    }
+
+    void record(long elapsedNanos, boolean success) {
+        count.increment();
+        if (!success) {
+            errors.increment();
+        }
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        long micros = elapsedNanos / 1000;
+        histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+    }
+
+    QueryShapeSummary summarise() {
+        long executions = count.sum();
+        double total = totalNanos.sum() / 1_000_000.0;
+        return new QueryShapeSummary(
+                shape,
+                executions,
+                errors.sum(),
+                total,
+                executions == 0 ? 0 : total / executions,
+                percentileMillis(0.50),
+                percentileMillis(0.95),
+                percentileMillis(0.99),
+                maxNanos.get() / 1_000_000.0
+        );
+    }
+
+    private double percentileMillis(double percentile) {
+        long total = 0;
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.get(i);
+            total += buckets[i];
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(1L << i, maxNanos.get() / 1000) / 1000.0;
+            }
+        }
+        return 0;
+    }
+}
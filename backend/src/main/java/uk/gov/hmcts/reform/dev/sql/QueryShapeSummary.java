@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.sql;
+
+public record QueryShapeSummary(
+        String shape,
+        long count,
+        long errors,
+        double totalMillis,
+        double meanMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis
+) {
+}
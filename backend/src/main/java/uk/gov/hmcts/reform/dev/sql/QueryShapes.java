@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.dev.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL to its shape by replacing literals with {@code ?}, collapsing IN lists and
+ * normalising whitespace, so that statements differing only in values are counted together.
+ */
+final class QueryShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\b(in)\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("(?i)\\bvalues\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_CACHED_SHAPES = 2048;
+
+    // Prepared statement SQL repeats, so normalising each distinct string once is enough
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private QueryShapes() {
+    }
+
+    static String of(String sql) {
+        String shape = CACHE.get(sql);
+        if (shape == null) {
+            shape = normalise(sql);
+            if (CACHE.size() < MAX_CACHED_SHAPES) {
+                CACHE.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    static String normalise(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("$1 (?...)");
+        shape = VALUES_LIST.matcher(shape).replaceAll("values $1, ...");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
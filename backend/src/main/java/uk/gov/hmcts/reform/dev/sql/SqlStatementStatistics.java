@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Collects per-shape execution counts and latencies for every JDBC statement, and logs
+ * statements slower than {@code app.sql.slow-query-threshold-millis}. Registered
+ * {@link Listener}s are told about every statement, on the thread that executed it.
+ */
+@Component
+public class SqlStatementStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementStatistics.class);
+
+    static final String OTHER_SHAPES = "(other)";
+
+    private final long slowQueryThresholdNanos;
+    private final double parameterSampleRate;
+    private final int maxShapes;
+    private final Map<String, QueryShapeStatistics> statistics = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public SqlStatementStatistics(@Value("${app.sql.slow-query-threshold-millis:200}") long slowQueryThresholdMillis,
+                                  @Value("${app.sql.parameter-sample-rate:0.1}") double parameterSampleRate,
+                                  @Value("${app.sql.max-shapes:500}") int maxShapes) {
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000L;
+        this.parameterSampleRate = parameterSampleRate;
+        this.maxShapes = maxShapes;
+    }
+
+    // Decided per statement before it runs, so unsampled statements never collect their bind values
+    boolean shouldSampleParameters() {
+        return parameterSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < parameterSampleRate;
+    }
+
+    void record(String sql, long elapsedNanos, boolean success, Map<Integer, Object> parameters) {
+        String shape = QueryShapes.of(sql);
+        QueryShapeStatistics shapeStatistics = statistics.get(shape);
+        if (shapeStatistics == null) {
+            String key = statistics.size() < maxShapes ? shape : OTHER_SHAPES;
+            shapeStatistics = statistics.computeIfAbsent(key, QueryShapeStatistics::new);
+        }
+        shapeStatistics.record(elapsedNanos, success);
+        for (Listener listener : listeners) {
+            listener.statementExecuted(sql, shape);
+        }
+
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            if (parameters != null && !parameters.isEmpty()) {
+                log.warn("Slow query ({} ms): {} parameters={}", elapsedNanos / 1_000_000, shape, parameters.values());
+            } else {
+                log.warn("Slow query ({} ms): {}", elapsedNanos / 1_000_000, shape);
+            }
+        }
+    }
+
+    public List<QueryShapeSummary> top(int limit, Comparator<QueryShapeSummary> order) {
+        return statistics.values().stream()
+                .map(QueryShapeStatistics::summarise)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        void statementExecuted(String sql, String shape);
+    }
+}
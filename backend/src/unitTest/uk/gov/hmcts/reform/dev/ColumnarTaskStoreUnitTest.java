@@ -0,0 +1,159 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.readmodel.ColumnarTaskStore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTaskStoreUnitTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 9, 30);
+
+    private ColumnarTaskStore store;
+    private long changeSeq;
+
+    private Task createTask(long id, TaskStatus status, LocalDateTime dueDate) {
+        Task task = new Task("Task " + id, "Task description", status, dueDate);
+        task.setID(id);
+        task.setChangeSeq(++changeSeq);
+        return task;
+    }
+
+    private List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getID).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarTaskStore();
+        store.upsert(createTask(1, TaskStatus.Pending, NOW.plusDays(3)));
+        store.upsert(createTask(2, TaskStatus.Completed, NOW.plusDays(1)));
+        store.upsert(createTask(3, TaskStatus.Pending, NOW.plusDays(2)));
+        store.upsert(createTask(4, TaskStatus.InProgress, NOW.plusDays(4)));
+    }
+
+    @Test
+    void shouldReturnAllTasksInIDOrder() {
+        assertThat(ids(store.query(TaskQuery.ALL))).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void shouldFilterByStatusAndSortByDueDate() {
+        TaskQuery query = new TaskQuery(TaskStatus.Pending, TaskQuery.SortField.DUE_DATE, false, 0, 0);
+
+        assertThat(ids(store.query(query))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void shouldPageInDescendingOrder() {
+        TaskQuery query = new TaskQuery(null, TaskQuery.SortField.DUE_DATE, true, 1, 2);
+
+        assertThat(ids(store.query(query))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void shouldOrderTasksDueInTheSameSecondByNanosThenID() {
+        store.upsert(createTask(7, TaskStatus.Pending, NOW.withNano(500)));
+        store.upsert(createTask(6, TaskStatus.Pending, NOW.withNano(500)));
+        store.upsert(createTask(5, TaskStatus.Pending, NOW.withNano(900)));
+        store.upsert(createTask(8, TaskStatus.Pending, NOW));
+
+        TaskQuery query = new TaskQuery(TaskStatus.Pending, TaskQuery.SortField.DUE_DATE, false, 0, 4);
+
+        assertThat(ids(store.query(query))).containsExactly(8L, 6L, 7L, 5L);
+    }
+
+    @Test
+    void shouldRejectPagesBeyondIntegerOffsets() {
+        assertThatThrownBy(() -> new TaskQuery(null, TaskQuery.SortField.ID, false, Integer.MAX_VALUE, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new TaskQuery(null, TaskQuery.SortField.ID, false, 1_000_000, 2_000).offset()).isEqualTo(2_000_000_000L);
+    }
+
+    @Test
+    void shouldMoveTaskBetweenStatusesOnUpdate() {
+        store.upsert(createTask(1, TaskStatus.Completed, NOW.plusDays(3)));
+
+        assertThat(store.count(TaskStatus.Pending)).isEqualTo(1);
+        assertThat(store.count(TaskStatus.Completed)).isEqualTo(2);
+        assertThat(store.find(1).getStatus()).isEqualTo(TaskStatus.Completed);
+    }
+
+    @Test
+    void shouldExcludeRemovedTasks() {
+        store.remove(3, ++changeSeq);
+
+        assertThat(store.find(3)).isNull();
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(ids(store.query(new TaskQuery(TaskStatus.Pending, null, false, 0, 0)))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldSortByIDWhenTasksArriveOutOfOrder() {
+        store.upsert(createTask(0, TaskStatus.Pending, NOW));
+
+        assertThat(ids(store.query(TaskQuery.ALL))).containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void shouldPreserveDueDatePrecision() {
+        LocalDateTime dueDate = NOW.plusNanos(123_456_789);
+        store.upsert(createTask(5, TaskStatus.Pending, dueDate));
+
+        assertThat(store.find(5).getDueDate()).isEqualTo(dueDate);
+    }
+
+    @Test
+    void shouldKeepDueDateOrderCurrentAcrossWrites() {
+        TaskQuery query = new TaskQuery(null, TaskQuery.SortField.DUE_DATE, false, 0, 0);
+        assertThat(ids(store.query(query))).containsExactly(2L, 3L, 1L, 4L);
+
+        store.upsert(createTask(5, TaskStatus.Pending, NOW.plusDays(2)));
+        store.upsert(createTask(1, TaskStatus.Pending, NOW));
+        store.upsert(createTask(6, TaskStatus.Pending, NOW.plusDays(2).withNano(1)));
+        store.remove(2, ++changeSeq);
+
+        assertThat(ids(store.query(query))).containsExactly(1L, 3L, 5L, 6L, 4L);
+    }
+
+    @Test
+    void shouldKeepIDOrderCurrentAcrossWrites() {
+        store.upsert(createTask(0, TaskStatus.Pending, NOW));
+        assertThat(ids(store.query(TaskQuery.ALL))).containsExactly(0L, 1L, 2L, 3L, 4L);
+
+        store.upsert(createTask(-1, TaskStatus.Pending, NOW));
+        store.upsert(createTask(9, TaskStatus.Pending, NOW));
+
+        assertThat(ids(store.query(TaskQuery.ALL))).containsExactly(-1L, 0L, 1L, 2L, 3L, 4L, 9L);
+    }
+
+    @Test
+    void shouldIgnoreWritesOlderThanTheStoredRow() {
+        Task stale = createTask(1, TaskStatus.Completed, NOW);
+        store.upsert(createTask(1, TaskStatus.InProgress, NOW.plusDays(5)));
+
+        store.upsert(stale);
+
+        assertThat(store.find(1).getStatus()).isEqualTo(TaskStatus.InProgress);
+        assertThat(store.find(1).getDueDate()).isEqualTo(NOW.plusDays(5));
+    }
+
+    @Test
+    void shouldNotReviveTaskWhenItsCreateArrivesAfterItsDelete() {
+        Task created = createTask(5, TaskStatus.Pending, NOW);
+        store.remove(5, ++changeSeq);
+
+        store.upsert(created);
+
+        assertThat(store.find(5)).isNull();
+        assertThat(store.size()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,112 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.dev.datasource.ReadWriteRoutingDataSource;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWritesTracker;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceUnitTest {
+
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private static DataSource embeddedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource(DataSource replica) {
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(
+                embeddedDatabase("primary"), List.of(replica), tracker);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private String currentNode() {
+        return new JdbcTemplate(routingDataSource).queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(60_000);
+        tracker.setCurrentClient("client-1");
+        routingDataSource = routingDataSource(embeddedDatabase("replica"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        tracker.clearCurrentClient();
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        beginTransaction(false);
+
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        beginTransaction(true);
+
+        assertThat(currentNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldPinReadsToPrimaryAfterClientWrites() {
+        tracker.recordWrite();
+
+        beginTransaction(true);
+        assertThat(currentNode()).isEqualTo("primary");
+
+        tracker.setCurrentClient("client-2");
+        assertThat(currentNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldNotPinReadsForReadWriteTransactionsThatRecordNoWrite() {
+        beginTransaction(false);
+        currentNode();
+
+        beginTransaction(true);
+        assertThat(currentNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaRefusesConnection() {
+        routingDataSource = routingDataSource(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable"));
+        beginTransaction(true);
+
+        assertThat(currentNode()).isEqualTo("primary");
+        assertThat(routingDataSource.isReplicaHealthy("replica-0")).isFalse();
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnhealthy() {
+        routingDataSource = routingDataSource(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable"));
+        routingDataSource.checkReplicaHealth(1);
+        beginTransaction(true);
+
+        assertThat(routingDataSource.isReplicaHealthy("replica-0")).isFalse();
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+}
@@ -0,0 +1,132 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.service.SingleFlight;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightUnitTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Starts CALLERS concurrent calls for the same key and waits until all but the leader have joined its flight
+    private List<Future<String>> callConcurrently(SingleFlight singleFlight, SingleFlight.Call<String, Exception> call)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("read", "key", call)));
+        }
+        awaitStats(singleFlight, stats -> stats.coalesced() == CALLERS - 1);
+        return results;
+    }
+
+    private static void awaitStats(SingleFlight singleFlight, Predicate<SingleFlight.Stats> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test(stats(singleFlight)) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static SingleFlight.Stats stats(SingleFlight singleFlight) {
+        return singleFlight.stats().stream().filter(stats -> stats.operation().equals("read")).findFirst()
+                .orElse(new SingleFlight.Stats("read", 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void shouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<String>> results = callConcurrently(singleFlight, () -> {
+            executions.incrementAndGet();
+            release.await();
+            return "result";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(stats(singleFlight)).isEqualTo(new SingleFlight.Stats("read", CALLERS, 1, CALLERS - 1, 0, 0));
+    }
+
+    @Test
+    void shouldShareErrorsWithoutKeepingThem() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(singleFlight, () -> {
+            release.await();
+            throw new IOException("database unavailable");
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IOException.class)
+                    .hasRootCauseMessage("database unavailable");
+        }
+        assertThat(stats(singleFlight).errors()).isEqualTo(1);
+
+        assertThat(singleFlight.execute("read", "key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void shouldRunCallItselfWhenLeaderTakesTooLong() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<String>> results = callConcurrently(singleFlight, () -> {
+            if (executions.incrementAndGet() == 1) {
+                release.await();
+            }
+            return "result";
+        });
+
+        awaitStats(singleFlight, stats -> stats.timeouts() == CALLERS - 1);
+        assertThat(stats(singleFlight).timeouts()).isEqualTo(CALLERS - 1);
+
+        release.countDown();
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(executions).hasValue(CALLERS);
+    }
+
+    @Test
+    void shouldNotCoalesceDifferentKeysOrWhenDisabled() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(false, 5000);
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("read", "key", executions::incrementAndGet);
+        singleFlight.execute("read", "other", executions::incrementAndGet);
+
+        assertThat(executions).hasValue(2);
+        assertThat(stats(singleFlight).coalesced()).isZero();
+        singleFlight.reset();
+        assertThat(singleFlight.stats()).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import uk.gov.hmcts.reform.dev.sql.InstrumentedDataSource;
+import uk.gov.hmcts.reform.dev.sql.QueryShapeSummary;
+import uk.gov.hmcts.reform.dev.sql.SqlStatementStatistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementStatisticsUnitTest {
+
+    private SqlStatementStatistics statistics;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new SqlStatementStatistics(200, 0.1, 500);
+        jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:sql-stats;DB_CLOSE_DELAY=-1"), statistics));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS item (id BIGINT, name VARCHAR(20))");
+        statistics.reset();
+    }
+
+    private QueryShapeSummary shape(String shape) {
+        return statistics.top(100, Comparator.comparingLong(QueryShapeSummary::count)).stream()
+                .filter(summary -> summary.shape().equals(shape))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void shouldGroupStatementsByShape() {
+        jdbcTemplate.update("INSERT INTO item (id, name) VALUES (?, ?)", 1, "first");
+        jdbcTemplate.update("INSERT INTO item (id, name) VALUES (?, ?)", 2, "second");
+        jdbcTemplate.queryForList("SELECT name FROM item WHERE id IN (1, 2, 3)");
+        jdbcTemplate.queryForList("SELECT name FROM item WHERE id IN (4, 5)");
+
+        assertThat(shape("INSERT INTO item (id, name) VALUES (?, ?)").count()).isEqualTo(2);
+        assertThat(shape("SELECT name FROM item WHERE id IN (?...)").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountFailedStatements() {
+        try {
+            jdbcTemplate.execute("SELECT missing FROM item");
+        } catch (RuntimeException expected) {
+            // Recorded as an error below
+        }
+
+        assertThat(shape("SELECT missing FROM item").errors()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLimitTopShapes() {
+        jdbcTemplate.queryForList("SELECT id FROM item");
+        jdbcTemplate.queryForList("SELECT name FROM item");
+        jdbcTemplate.queryForList("SELECT id, name FROM item");
+
+        List<QueryShapeSummary> top = statistics.top(2, Comparator.comparingDouble(QueryShapeSummary::maxMillis));
+
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).maxMillis()).isGreaterThanOrEqualTo(top.get(1).maxMillis());
+    }
+
+    @Test
+    void shouldNotifyListenersOfEachShapeUntilRemoved() {
+        List<String> shapes = new ArrayList<>();
+        SqlStatementStatistics.Listener listener = (sql, shape) -> shapes.add(shape);
+
+        statistics.addListener(listener);
+        jdbcTemplate.queryForList("SELECT name FROM item WHERE id IN (1, 2)");
+        statistics.removeListener(listener);
+        jdbcTemplate.queryForList("SELECT id FROM item");
+
+        assertThat(shapes).containsExactly("SELECT name FROM item WHERE id IN (?...)");
+    }
+}
@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.service.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.service.TaskCollectionVersion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskCollectionVersionUnitTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskCollectionVersion taskCollectionVersion;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        taskCollectionVersion = new TaskCollectionVersion(jdbcTemplate);
+        syncAt(10L);
+    }
+
+    private void syncAt(long lastValue) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(lastValue);
+        taskCollectionVersion.syncWithDatabase();
+    }
+
+    @Test
+    void shouldNotBumpAgainForOwnWrites() {
+        long version = taskCollectionVersion.current();
+
+        taskCollectionVersion.onTaskChanged(TaskChangedEvent.deleted(1L, 11L));
+        taskCollectionVersion.onTaskChanged(TaskChangedEvent.deleted(2L, 12L));
+        syncAt(12L);
+
+        assertThat(taskCollectionVersion.current()).isEqualTo(version + 2);
+    }
+
+    @Test
+    void shouldBumpWhenSequenceMovesPastOwnWrites() {
+        long version = taskCollectionVersion.current();
+
+        taskCollectionVersion.onTaskChanged(TaskChangedEvent.deleted(1L, 11L));
+        syncAt(13L);
+
+        assertThat(taskCollectionVersion.current()).isEqualTo(version + 2);
+    }
+
+    @Test
+    void shouldNotBumpWhenSequenceIsUnchanged() {
+        long version = taskCollectionVersion.current();
+
+        syncAt(10L);
+
+        assertThat(taskCollectionVersion.current()).isEqualTo(version);
+    }
+
+    @Test
+    void shouldBumpForOwnWriteRecordedAfterSyncPassedIt() {
+        long version = taskCollectionVersion.current();
+
+        syncAt(11L);
+        taskCollectionVersion.onTaskChanged(TaskChangedEvent.deleted(1L, 11L));
+        syncAt(11L);
+
+        assertThat(taskCollectionVersion.current()).isEqualTo(version + 2);
+    }
+}
@@ -5,24 +5,41 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.gov.hmcts.reform.dev.controller.TaskController;
+import uk.gov.hmcts.reform.dev.controller.TaskResponseCache;
+import uk.gov.hmcts.reform.dev.datasource.ReadYourWritesTracker;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskLookupResult;
 import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.service.SingleFlight;
+import uk.gov.hmcts.reform.dev.service.TaskCollectionVersion;
 import uk.gov.hmcts.reform.dev.service.TaskService;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +47,7 @@ class TaskControllerUnitTest {
 
     private static final Logger log = LoggerFactory.getLogger(TaskControllerUnitTest.class);
     private TaskService taskService;
+    private TaskCollectionVersion taskCollectionVersion;
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -37,10 +55,13 @@ class TaskControllerUnitTest {
     @BeforeEach
     void setUp() {
         taskService = mock(TaskService.class);
-        TaskController taskController = new TaskController(taskService);
-        mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
+        taskCollectionVersion = new TaskCollectionVersion(mock(JdbcTemplate.class));
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+        TaskController taskController = new TaskController(
+                taskService, new TaskResponseCache(1024 * 1024, 60_000), taskCollectionVersion, objectMapper,
+                new SingleFlight(true, 2000), new StaticListableBeanFactory().getBeanProvider(ReadYourWritesTracker.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
     }
 
     private Task createTask() {
@@ -78,6 +99,46 @@ class TaskControllerUnitTest {
         verify(taskService, times(1)).getTaskByID(1L);
     }
 
+    @Test
+    void shouldNotShareReadsBetweenStickyAndOtherClients() throws Exception {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("readYourWritesTracker", tracker);
+        MockMvc routedMockMvc = MockMvcBuilders.standaloneSetup(new TaskController(
+                taskService, new TaskResponseCache(1024 * 1024, 60_000), taskCollectionVersion, objectMapper,
+                new SingleFlight(true, 5000), beans.getBeanProvider(ReadYourWritesTracker.class))).build();
+
+        // The first read blocks until released, so a read that joined its flight would block too
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getTaskByID(1L)).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(createTask());
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> other = executor.submit(() -> routedMockMvc.perform(get("/tasks/1")).andExpect(status().isOk()));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            tracker.setCurrentClient("writer");
+            tracker.recordWrite();
+            routedMockMvc.perform(get("/tasks/1")).andExpect(status().isOk());
+
+            assertThat(calls).hasValue(2);
+            release.countDown();
+            other.get(5, TimeUnit.SECONDS);
+        } finally {
+            tracker.clearCurrentClient();
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void shouldGetAllTasks() throws Exception {
         when(taskService.getAllTasks()).thenReturn(Arrays.asList(createTask(), createTask(), createTask()));
@@ -89,6 +150,91 @@ class TaskControllerUnitTest {
         verify(taskService, times(1)).getAllTasks();
     }
 
+    @Test
+    void shouldServeRepeatedGetAllTasksFromCacheUntilVersionChanges() throws Exception {
+        when(taskService.getAllTasks()).thenReturn(Arrays.asList(createTask(), createTask()));
+
+        mockMvc.perform(get("/tasks")).andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/tasks")).andExpect(jsonPath("$.length()").value(2));
+        verify(taskService, times(1)).getAllTasks();
+
+        taskCollectionVersion.bump();
+        mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+        verify(taskService, times(2)).getAllTasks();
+    }
+
+    @Test
+    void shouldCacheFilteredQueriesSeparately() throws Exception {
+        when(taskService.getAllTasks()).thenReturn(Arrays.asList(createTask(), createTask()));
+        when(taskService.getTasks(any())).thenReturn(List.of(createTask()));
+
+        mockMvc.perform(get("/tasks")).andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/tasks").param("status", "Pending")).andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldRejectUnknownDirectionAndOutOfRangePage() throws Exception {
+        mockMvc.perform(get("/tasks").param("direction", "sideways"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks").param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "100"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void shouldServeGzippedResponseWhenAccepted() throws Exception {
+        Task task = createTask();
+        task.setDescription("A".repeat(1000));
+        when(taskService.getAllTasks()).thenReturn(List.of(task));
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void shouldServeIdentityResponseWhenGzipIsRefused() throws Exception {
+        Task task = createTask();
+        task.setDescription("A".repeat(1000));
+        when(taskService.getAllTasks()).thenReturn(List.of(task));
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/tasks").header(HttpHeaders.ACCEPT_ENCODING, "*;q=0.5, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/tasks").header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void shouldGetTasksByIDs() throws Exception {
+        when(taskService.getTasksByIDs(List.of(2L, 1L)))
+                .thenReturn(List.of(TaskLookupResult.of(2L, createTask()), TaskLookupResult.of(1L, null)));
+
+        mockMvc.perform(get("/tasks").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].task.title").value("Task Title"))
+                .andExpect(jsonPath("$[1].id").value(1))
+                .andExpect(jsonPath("$[1].found").value(false));
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void shouldLookUpTasksByPostedIDs() throws Exception {
+        when(taskService.getTasksByIDs(List.of(1L))).thenReturn(List.of(TaskLookupResult.of(1L, createTask())));
+
+        mockMvc.perform(post("/tasks/lookup")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].task.title").value("Task Title"));
+    }
+
     @Test
     void shouldUpdateTask() throws Exception {
         Task updatedTask = createTask();
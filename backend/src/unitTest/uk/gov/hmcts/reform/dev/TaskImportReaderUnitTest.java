@@ -0,0 +1,159 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.bulkimport.TaskImportReader;
+import uk.gov.hmcts.reform.dev.bulkimport.TaskImportRecord;
+import uk.gov.hmcts.reform.dev.models.TaskImportJob;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskImportReaderUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private List<TaskImportRecord> readAll(TaskImportJob.Format format, String content) throws IOException {
+        List<TaskImportRecord> records = new ArrayList<>();
+        try (TaskImportReader reader = TaskImportReader.open(format, new StringReader(content), objectMapper)) {
+            TaskImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void shouldReadCsvWithColumnsInAnyOrder() throws IOException {
+        List<TaskImportRecord> records = readAll(TaskImportJob.Format.CSV,
+                "status,dueDate,title,description\r\n"
+                + "Pending,2025-04-23T15:30:00,First,\r\n"
+                + "Completed,2025-05-01T09:00:00,Second,Has a description\r\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).number()).isEqualTo(1);
+        assertThat(records.get(0).task().getTitle()).isEqualTo("First");
+        assertThat(records.get(0).task().getDescription()).isNull();
+        assertThat(records.get(0).task().getDueDate()).isEqualTo(LocalDateTime.of(2025, 4, 23, 15, 30));
+        assertThat(records.get(1).task().getStatus()).isEqualTo(TaskStatus.Completed);
+        assertThat(records.get(1).task().getDescription()).isEqualTo("Has a description");
+    }
+
+    @Test
+    void shouldReadQuotedCsvFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        List<TaskImportRecord> records = readAll(TaskImportJob.Format.CSV,
+                "title,description,status,dueDate\n"
+                + "\"Review, then file\",\"Line one\nLine \"\"two\"\"\",Pending,2025-04-23T15:30:00\n"
+                + "\n"
+                + "Next,,InProgress,2025-04-24T10:00:00");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).task().getTitle()).isEqualTo("Review, then file");
+        assertThat(records.get(0).task().getDescription()).isEqualTo("Line one\nLine \"two\"");
+        assertThat(records.get(1).number()).isEqualTo(2);
+        assertThat(records.get(1).task().getStatus()).isEqualTo(TaskStatus.InProgress);
+    }
+
+    @Test
+    void shouldRejectMalformedCsvRecordsAndContinue() throws IOException {
+        List<TaskImportRecord> records = readAll(TaskImportJob.Format.CSV,
+                "title,status,dueDate\n"
+                + "Bad status,Done,2025-04-23T15:30:00\n"
+                + "Bad date,Pending,tomorrow\n"
+                + "Too,many,fields,here\n"
+                + "Good,Pending,2025-04-23T15:30:00\n");
+
+        assertThat(records).extracting(TaskImportRecord::error).containsExactly(
+                "Unknown status: Done",
+                "Invalid dueDate: tomorrow",
+                "Expected 3 fields but found 4",
+                null);
+        assertThat(records.get(0).content()).isEqualTo("Bad status,Done,2025-04-23T15:30:00");
+        assertThat(records.get(3).task().getTitle()).isEqualTo("Good");
+    }
+
+    @Test
+    void shouldFailWhenCsvHeaderIsMissingAColumn() {
+        assertThatThrownBy(() -> readAll(TaskImportJob.Format.CSV, "title,description,status\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("duedate");
+    }
+
+    @Test
+    void shouldRejectOverlongCsvRecordAndContinue() throws IOException {
+        List<TaskImportRecord> records = readAll(TaskImportJob.Format.CSV,
+                "title,status,dueDate\n"
+                + "\"Too long\nby far " + "x".repeat(70 * 1024) + "\",Pending,2025-04-23T15:30:00\n"
+                + "Good,Pending,2025-04-23T15:30:00\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).error()).contains("exceeds");
+        assertThat(records.get(0).content()).startsWith("\"Too long");
+        assertThat(records.get(1).number()).isEqualTo(2);
+        assertThat(records.get(1).task().getTitle()).isEqualTo("Good");
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuoteWithoutBufferingTheFile() throws IOException {
+        String content = "title,status,dueDate\n\"Never closed," + "x".repeat(70 * 1024);
+
+        assertThat(readAll(TaskImportJob.Format.CSV, content))
+                .singleElement()
+                .satisfies(record -> assertThat(record.error()).contains("exceeds"));
+    }
+
+    @Test
+    void shouldRejectOverlongNdjsonLineAndContinue() throws IOException {
+        List<TaskImportRecord> records = readAll(TaskImportJob.Format.NDJSON,
+                "{\"title\": \"" + "x".repeat(70 * 1024) + "\", \"status\": \"Pending\", \"dueDate\": \"2025-04-23T15:30:00\"}\n"
+                + "{\"title\": \"Good\", \"status\": \"Pending\", \"dueDate\": \"2025-04-23T15:30:00\"}\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).error()).contains("exceeds");
+        assertThat(records.get(1).task().getTitle()).isEqualTo("Good");
+    }
+
+    @Test
+    void shouldReadNdjsonAndRejectInvalidLines() throws IOException {
+        List<TaskImportRecord> records = readAll(TaskImportJob.Format.NDJSON,
+                "{\"id\": 7, \"title\": \"First\", \"status\": \"Pending\", \"dueDate\": \"2025-04-23T15:30:00\"}\n"
+                + "\n"
+                + "{\"title\": \"Broken\", \"status\": \"Pending\"\n"
+                + "{\"title\": \"Second\", \"status\": \"Completed\", \"dueDate\": \"2025-04-24T15:30:00\"}");
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).task().getID()).isNull();
+        assertThat(records.get(0).task().getTitle()).isEqualTo("First");
+        assertThat(records.get(1).number()).isEqualTo(2);
+        assertThat(records.get(1).error()).isNotNull();
+        assertThat(records.get(2).task().getStatus()).isEqualTo(TaskStatus.Completed);
+    }
+
+    @Test
+    void shouldSkipAlreadyImportedRecordsOnResume() throws IOException {
+        String content = "title,status,dueDate\n"
+                + "One,Pending,2025-04-23T15:30:00\n"
+                + "Two,Pending,2025-04-23T15:30:00\n"
+                + "Three,Pending,2025-04-23T15:30:00\n";
+        try (TaskImportReader reader = TaskImportReader.open(TaskImportJob.Format.CSV, new StringReader(content), objectMapper)) {
+            reader.skip(2);
+
+            TaskImportRecord record = reader.next();
+            assertThat(record.number()).isEqualTo(3);
+            assertThat(record.task().getTitle()).isEqualTo("Three");
+            assertThat(reader.next()).isNull();
+        }
+    }
+}
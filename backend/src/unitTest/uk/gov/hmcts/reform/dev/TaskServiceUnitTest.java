@@ -2,15 +2,23 @@ package uk.gov.hmcts.reform.dev;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskChanges;
+import uk.gov.hmcts.reform.dev.models.TaskLookupResult;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
 import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.readmodel.TaskReadModel;
+import uk.gov.hmcts.reform.dev.repository.TaskGuardedWrites;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.service.TaskChangeSequence;
 import uk.gov.hmcts.reform.dev.service.TaskService;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -18,12 +26,16 @@ import static org.mockito.Mockito.*;
 class TaskServiceUnitTest {
 
     private TaskRepository taskRepository;
+    private TaskReadModel taskReadModel;
+    private TaskChangeSequence taskChangeSequence;
     private TaskService taskService;
 
     @BeforeEach
     void setUp() {
         taskRepository = mock(TaskRepository.class);
-        taskService = new TaskService(taskRepository);
+        taskReadModel = mock(TaskReadModel.class);
+        taskChangeSequence = mock(TaskChangeSequence.class);
+        taskService = new TaskService(taskRepository, mock(ApplicationEventPublisher.class), taskReadModel, taskChangeSequence);
     }
 
     private Task createTask() {
@@ -70,28 +82,156 @@ class TaskServiceUnitTest {
         verify(taskRepository, times(1)).findAll();
     }
 
+    @Test
+    void shouldGetFilteredTasksFromRepositoryWhenReadModelIsNotReady() {
+        TaskQuery query = new TaskQuery(TaskStatus.Pending, TaskQuery.SortField.DUE_DATE, false, 0, 10);
+        when(taskRepository.findByStatus(TaskStatus.Pending, query.toPageable())).thenReturn(List.of(createTask()));
+
+        List<Task> retrievedTasks = taskService.getTasks(query);
+
+        assertThat(retrievedTasks).hasSize(1);
+        verify(taskReadModel, never()).query(any());
+    }
+
+    @Test
+    void shouldGetFilteredTasksFromReadModelWhenReady() {
+        TaskQuery query = new TaskQuery(TaskStatus.Pending, TaskQuery.SortField.DUE_DATE, false, 0, 10);
+        when(taskReadModel.isReady()).thenReturn(true);
+        when(taskReadModel.query(query)).thenReturn(List.of(createTask(), createTask()));
+
+        List<Task> retrievedTasks = taskService.getTasks(query);
+
+        assertThat(retrievedTasks).hasSize(2);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldLookUpTasksInRequestOrderWithNotFoundMarkers() {
+        Task first = createTask();
+        first.setID(1L);
+        Task third = createTask();
+        third.setID(3L);
+        when(taskRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+
+        List<TaskLookupResult> results = taskService.getTasksByIDs(List.of(3L, 2L, 1L, 3L));
+
+        assertThat(results).extracting(TaskLookupResult::id).containsExactly(3L, 2L, 1L, 3L);
+        assertThat(results).extracting(TaskLookupResult::found).containsExactly(true, false, true, true);
+        verify(taskRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void shouldServeLookupsFromReadModelAndCheckItsMissesInDatabase() {
+        Task cached = createTask();
+        cached.setID(1L);
+        Task writtenElsewhere = createTask();
+        writtenElsewhere.setID(2L);
+        when(taskReadModel.isReady()).thenReturn(true);
+        when(taskReadModel.find(1L)).thenReturn(Optional.of(cached));
+        when(taskReadModel.find(2L)).thenReturn(Optional.empty());
+        when(taskReadModel.find(3L)).thenReturn(Optional.empty());
+        when(taskRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(writtenElsewhere));
+
+        List<TaskLookupResult> results = taskService.getTasksByIDs(List.of(1L, 2L, 3L));
+
+        assertThat(results).extracting(TaskLookupResult::found).containsExactly(true, true, false);
+        verify(taskRepository, times(1)).findAllById(List.of(2L, 3L));
+    }
+
+    @Test
+    void shouldSplitLookupsIntoChunksOfAThousandIDs() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        taskService.getTasksByIDs(ids);
+
+        verify(taskRepository).findAllById(ids.subList(0, 1000));
+        verify(taskRepository).findAllById(List.of(1001L));
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    private Task changedTask(long ID, long changeXid) {
+        Task task = createTask();
+        task.setID(ID);
+        task.setChangeXid(changeXid);
+        return task;
+    }
+
+    @Test
+    void shouldReturnChangesSinceWatermark() {
+        Task changedTask = changedTask(1L, 11L);
+        Task deletedTask = changedTask(2L, 12L);
+        deletedTask.setDeletedAt(LocalDateTime.now());
+        when(taskChangeSequence.safeWatermark()).thenReturn(15L);
+        when(taskRepository.findChangedBetween(10L, 15L, 100)).thenReturn(List.of(changedTask, deletedTask));
+
+        TaskChanges changes = taskService.getChangesSince(10L, 100);
+
+        assertThat(changes.changed()).extracting(Task::getID).containsExactly(1L);
+        assertThat(changes.deleted()).containsExactly(2L);
+        assertThat(changes.watermark()).isEqualTo(15L);
+        assertThat(changes.hasMore()).isFalse();
+    }
+
+    @Test
+    void shouldLeaveLastTransactionForNextPageWhenChangesAreTruncated() {
+        when(taskChangeSequence.safeWatermark()).thenReturn(15L);
+        when(taskRepository.findChangedBetween(10L, 15L, 3))
+                .thenReturn(List.of(changedTask(1L, 11L), changedTask(2L, 12L), changedTask(3L, 12L)));
+
+        TaskChanges changes = taskService.getChangesSince(10L, 3);
+
+        assertThat(changes.changed()).extracting(Task::getID).containsExactly(1L);
+        assertThat(changes.watermark()).isEqualTo(12L);
+        assertThat(changes.hasMore()).isTrue();
+    }
+
+    @Test
+    void shouldReturnWholeTransactionWhenItExceedsTheLimit() {
+        when(taskChangeSequence.safeWatermark()).thenReturn(15L);
+        when(taskRepository.findChangedBetween(10L, 15L, 2)).thenReturn(List.of(changedTask(1L, 12L), changedTask(2L, 12L)));
+        when(taskRepository.findChangedIn(12L))
+                .thenReturn(List.of(changedTask(1L, 12L), changedTask(2L, 12L), changedTask(3L, 12L)));
+
+        TaskChanges changes = taskService.getChangesSince(10L, 2);
+
+        assertThat(changes.changed()).extracting(Task::getID).containsExactly(1L, 2L, 3L);
+        assertThat(changes.watermark()).isEqualTo(13L);
+        assertThat(changes.hasMore()).isTrue();
+    }
+
     @Test
     void shouldUpdateTask() {
         Task task = createTask();
         Task updatedTask = new Task("Updated Task Title", "Updated test description", TaskStatus.Completed, LocalDateTime.now().plusDays(4));
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+        when(taskRepository.updateStatus(1L, TaskStatus.Completed))
+                .thenReturn(Optional.of(new TaskGuardedWrites.StatusChange(updatedTask, task.getStatus(), task.getDueDate())));
 
         Optional<Task> result = taskService.updateTask(1L, updatedTask);
 
         assertThat(result).isPresent();
         assertThat(result.get().getTitle()).isEqualTo("Updated Task Title");
         assertThat(result.get().getStatus()).isEqualTo(TaskStatus.Completed);
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).updateStatus(1L, TaskStatus.Completed);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void shouldNotFindDeletedTaskOnUpdate() {
+        when(taskRepository.updateStatus(1L, TaskStatus.Completed)).thenReturn(Optional.empty());
+
+        Task update = createTask();
+        update.setStatus(TaskStatus.Completed);
+
+        assertThat(taskService.updateTask(1L, update)).isEmpty();
     }
 
     @Test
     void shouldDeleteTask() {
-        doNothing().when(taskRepository).deleteById(1L);
+        when(taskRepository.softDelete(eq(1L), any(LocalDateTime.class))).thenReturn(Optional.of(7L));
 
         taskService.deleteTask(1L);
 
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, times(1)).softDelete(eq(1L), any(LocalDateTime.class));
+        verify(taskRepository, never()).deleteById(any());
     }
 }
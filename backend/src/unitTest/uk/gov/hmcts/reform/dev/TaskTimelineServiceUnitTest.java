@@ -0,0 +1,176 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollup;
+import uk.gov.hmcts.reform.dev.models.TaskDueRollupKey;
+import uk.gov.hmcts.reform.dev.models.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.TaskTimelineBucket;
+import uk.gov.hmcts.reform.dev.repository.TaskDueRollupRepository;
+import uk.gov.hmcts.reform.dev.service.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.service.TaskTimelineService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class TaskTimelineServiceUnitTest {
+
+    // A Monday, so week buckets line up with the start of the range
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskDueRollupRepository taskDueRollupRepository;
+    private TaskTimelineService taskTimelineService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        taskDueRollupRepository = mock(TaskDueRollupRepository.class);
+        taskTimelineService = new TaskTimelineService(jdbcTemplate, taskDueRollupRepository, mock(PlatformTransactionManager.class));
+    }
+
+    private static Task task(TaskStatus status, LocalDate dueDay) {
+        return new Task("Task Title", "Task description", status, dueDay.atTime(9, 30));
+    }
+
+    private static TaskDueRollup rollup(LocalDate dueDay, TaskStatus status, long count) {
+        return new TaskDueRollup(new TaskDueRollupKey(dueDay, status), count);
+    }
+
+    @Test
+    void shouldCountRollupRowsIntoDayBuckets() {
+        when(taskDueRollupRepository.findAll()).thenReturn(List.of(
+                rollup(MONDAY, TaskStatus.Pending, 1),
+                rollup(MONDAY, TaskStatus.Completed, 1),
+                rollup(MONDAY.plusDays(2), TaskStatus.Pending, 1)));
+
+        List<TaskTimelineBucket> timeline = taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY.plusDays(2));
+
+        assertThat(timeline).hasSize(3);
+        assertThat(timeline.get(0).total()).isEqualTo(2);
+        assertThat(timeline.get(0).counts()).containsEntry(TaskStatus.Pending, 1L).containsEntry(TaskStatus.Completed, 1L);
+        assertThat(timeline.get(1).total()).isZero();
+        assertThat(timeline.get(1).counts()).containsEntry(TaskStatus.InProgress, 0L);
+        assertThat(timeline.get(2).counts()).containsEntry(TaskStatus.Pending, 1L);
+    }
+
+    @Test
+    void shouldGroupWeeksFromMondayAndClipToRange() {
+        when(taskDueRollupRepository.findAll()).thenReturn(List.of(
+                rollup(MONDAY.plusDays(1), TaskStatus.Pending, 1),
+                rollup(MONDAY.plusDays(6), TaskStatus.Pending, 1),
+                rollup(MONDAY.plusDays(7), TaskStatus.Pending, 1)));
+
+        List<TaskTimelineBucket> timeline = taskTimelineService.getTimeline(TaskTimelineBucket.Size.WEEK, MONDAY.plusDays(1), MONDAY.plusDays(9));
+
+        assertThat(timeline).extracting(TaskTimelineBucket::start)
+                .containsExactly(MONDAY.plusDays(1), MONDAY.plusDays(7));
+        assertThat(timeline).extracting(TaskTimelineBucket::end)
+                .containsExactly(MONDAY.plusDays(6), MONDAY.plusDays(9));
+        assertThat(timeline).extracting(TaskTimelineBucket::total).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldUpsertBothBucketsWhenStatusChanges() {
+        Task task = task(TaskStatus.Completed, MONDAY);
+
+        taskTimelineService.onTaskChanged(TaskChangedEvent.updated(task, TaskStatus.Pending, task.getDueDate()));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(2), any());
+    }
+
+    @Test
+    void shouldSkipRollupWhenBucketIsUnchanged() {
+        Task task = task(TaskStatus.Pending, MONDAY);
+
+        taskTimelineService.onTaskChanged(TaskChangedEvent.updated(task, TaskStatus.Pending, MONDAY.atTime(17, 0)));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldUpsertImportedTasksOncePerBucket() {
+        taskTimelineService.onTasksImported(List.of(
+                task(TaskStatus.Pending, MONDAY),
+                task(TaskStatus.Pending, MONDAY),
+                task(TaskStatus.Completed, MONDAY.plusDays(1))));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(2), any());
+    }
+
+    @Test
+    void shouldReloadFromTableOnlyAfterWrite() {
+        when(taskDueRollupRepository.findAll())
+                .thenReturn(List.of(rollup(MONDAY, TaskStatus.Pending, 1)))
+                .thenReturn(List.of(rollup(MONDAY, TaskStatus.Pending, 2)));
+
+        assertThat(taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY).get(0).total()).isEqualTo(1);
+        assertThat(taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY).get(0).total()).isEqualTo(1);
+        taskTimelineService.onTaskChanged(TaskChangedEvent.created(task(TaskStatus.Pending, MONDAY)));
+
+        // Counts come from the table, never from the event, so the write is counted exactly once
+        assertThat(taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY).get(0).total()).isEqualTo(2);
+        verify(taskDueRollupRepository, times(2)).findAll();
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(1), any());
+    }
+
+    @Test
+    void shouldReplaceCountsOnReload() {
+        when(taskDueRollupRepository.findAll())
+                .thenReturn(List.of(rollup(MONDAY, TaskStatus.Pending, 1)))
+                .thenReturn(List.of(rollup(MONDAY, TaskStatus.InProgress, 4)));
+        taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY);
+
+        taskTimelineService.reload();
+
+        TaskTimelineBucket bucket = taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY).get(0);
+        assertThat(bucket.counts()).containsEntry(TaskStatus.Pending, 0L).containsEntry(TaskStatus.InProgress, 4L);
+        assertThat(bucket.total()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldLockRollupWhileReconciling() {
+        when(jdbcTemplate.queryForObject(startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class))).thenReturn(true);
+
+        taskTimelineService.reconcile();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("lock table task_due_rollup in exclusive mode");
+        inOrder.verify(jdbcTemplate).update("delete from task_due_rollup");
+        inOrder.verify(jdbcTemplate).update(startsWith("insert into task_due_rollup (due_day, status, task_count) select"));
+        verify(taskDueRollupRepository).findAll();
+    }
+
+    @Test
+    void shouldSkipReconcileWhileAnotherInstanceRunsIt() {
+        when(jdbcTemplate.queryForObject(startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class))).thenReturn(false);
+
+        taskTimelineService.reconcile();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString());
+        verifyNoInteractions(taskDueRollupRepository);
+    }
+
+    @Test
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskTimelineService.getTimeline(TaskTimelineBucket.Size.DAY, MONDAY, MONDAY.plusDays(366)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownBucketSize() {
+        assertThatThrownBy(() -> TaskTimelineBucket.Size.fromParam("month"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
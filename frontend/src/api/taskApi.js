@@ -38,6 +38,18 @@ export async function fetchTasks() {
   }
 }
 
+export async function fetchTaskChanges(since) {
+  console.log("Fetching task changes since:", since);
+  try {
+    const response = await axios.get(`${API_URL}/changes`, { params: { since } });
+    console.log("Fetched task changes:", response.data);
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching task changes:", error);
+    throw error;
+  }
+}
+
 export async function updateTaskByID(id, task) {
   console.log("Updating task with ID:", id, "Task data:", task);
   try {